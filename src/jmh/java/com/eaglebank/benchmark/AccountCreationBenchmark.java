@@ -0,0 +1,96 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.EagleBankApplication;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.User;
+import com.eaglebank.repository.UserRepository;
+import com.eaglebank.service.BankAccountService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account creation from 64 threads. {@code client} picks random numbers the way clients do and
+ * retries on the unique constraint, counting each collision in {@code collisions};
+ * {@code generated} leaves the number blank so the server allocates it from a leased block.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class AccountCreationBenchmark {
+    private static final int CLIENT_NUMBER_SPACE = 100_000;
+
+    @Param({"client", "generated"})
+    public String numbers;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService bankAccountService;
+    private User owner;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(EagleBankApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh-accounts-" + numbers + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF")
+                .run("--eaglebank.account-number.generate=true");
+        bankAccountService = context.getBean(BankAccountService.class);
+        owner = context.getBean(UserRepository.class).save(User.builder().firstName("Bench").lastName("Mark")
+                .email("bench@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retries {
+        public long collisions;
+    }
+
+    @Benchmark
+    public BankAccount create(Retries retries) {
+        boolean client = numbers.equals("client");
+        while (true) {
+            String number = client ? "C" + ThreadLocalRandom.current().nextInt(CLIENT_NUMBER_SPACE) : null;
+            try {
+                return bankAccountService.createBankAccount(BankAccount.builder().accountNumber(number).user(owner)
+                        .type(AccountType.CHECKING).balance(BigDecimal.TEN).currency("GBP")
+                        .status(AccountStatus.ACTIVE).build());
+            } catch (DataIntegrityViolationException e) {
+                retries.collisions++;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balance arithmetic done per deposit and withdrawal, and summing a history of amounts,
+ * with {@link BigDecimal} and with the fixed-point {@link Money} the ledger uses.
+ * Thread count comes from {@code -t}; add {@code -prof gc} for allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BalanceArithmeticBenchmark {
+    private static final int HISTORY = 1_000;
+
+    private BigDecimal balance;
+    private BigDecimal amount;
+    private BigDecimal[] history;
+    private Money balanceMoney;
+    private Money amountMoney;
+    private long[] historyMinor;
+
+    @Setup
+    public void setUp() {
+        balance = new BigDecimal("15234.67");
+        amount = new BigDecimal("19.99");
+        history = new BigDecimal[HISTORY];
+        for (int i = 0; i < HISTORY; i++) {
+            history[i] = BigDecimal.valueOf(100 + i * 37L, 2);
+        }
+        balanceMoney = Money.of(balance, 2);
+        amountMoney = Money.of(amount, 2);
+        historyMinor = new long[HISTORY];
+        for (int i = 0; i < HISTORY; i++) {
+            historyMinor[i] = Money.of(history[i], 2).getMinorUnits();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal credit() {
+        return balance.add(amount);
+    }
+
+    @Benchmark
+    public BigDecimal debitIfSufficient() {
+        return balance.compareTo(amount) >= 0 ? balance.subtract(amount) : balance;
+    }
+
+    @Benchmark
+    public BigDecimal sumHistory() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal value : history) {
+            sum = sum.add(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Money creditMoney() {
+        return balanceMoney.plus(amountMoney);
+    }
+
+    @Benchmark
+    public Money debitIfSufficientMoney() {
+        return balanceMoney.isLessThan(amountMoney) ? balanceMoney : balanceMoney.minus(amountMoney);
+    }
+
+    /**
+     * Entity-mode deposit as it runs: the request amount and the entity's balance are converted
+     * at the currency's scale, added, and the result written back to the entity as a BigDecimal.
+     * The conversions cost what the fixed-point add saves, so this is no cheaper than
+     * {@link #credit()}; the gain there is exactness, not speed.
+     */
+    @Benchmark
+    public BigDecimal depositPath() {
+        return Money.of(balance, 2).plus(Money.of(amount, 2)).toBigDecimal();
+    }
+
+    /**
+     * Entity-mode withdrawal as it runs; compare with {@link #debitIfSufficient()}.
+     */
+    @Benchmark
+    public BigDecimal withdrawalPath() {
+        Money current = Money.of(balance, 2);
+        Money debit = Money.of(amount, 2);
+        return current.isLessThan(debit) ? balance : current.minus(debit).toBigDecimal();
+    }
+
+    /**
+     * Journaled deposit as it runs on the ledger lane: the balance is already held in minor units,
+     * so only the request amount is converted.
+     */
+    @Benchmark
+    public Money journalDepositPath() {
+        return balanceMoney.plus(Money.of(amount, 2));
+    }
+
+    /**
+     * Journaled withdrawal as it runs on the ledger lane; compare with {@link #withdrawalPath()}.
+     */
+    @Benchmark
+    public Money journalWithdrawalPath() {
+        Money debit = Money.of(amount, 2);
+        return balanceMoney.isLessThan(debit) ? balanceMoney : balanceMoney.minus(debit);
+    }
+
+    @Benchmark
+    public Money sumHistoryMoney() {
+        long sum = 0;
+        for (long value : historyMinor) {
+            sum = Math.addExact(sum, value);
+        }
+        return Money.ofMinor(sum, 2);
+    }
+}
@@ -0,0 +1,103 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.EagleBankApplication;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import com.eaglebank.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Polling an unchanged account or history page through the dispatcher servlet: {@code full}
+ * builds and serializes the whole response, {@code notModified} sends the previous ETag and gets
+ * 304 from the metadata check. Requests go through MockMvc, so socket and client overhead, the
+ * same for both, stay out of the numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionalGetBenchmark {
+    private static final int HISTORY_SIZE = 50;
+
+    @Param({"account", "history"})
+    public String resource;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String path;
+    private String eTag;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = new SpringApplicationBuilder(EagleBankApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh-etag;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run("--server.port=0", "--logging.level.com.eaglebank.controller=WARN",
+                        "--eaglebank.rate-limit.enabled=false");
+        User owner = context.getBean(UserRepository.class).save(User.builder().firstName("Bench").lastName("Mark")
+                .email("bench@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        Long accountId = context.getBean(BankAccountRepository.class).save(BankAccount.builder().accountNumber("JMH-E-1")
+                .user(owner).type(AccountType.CHECKING).balance(BigDecimal.ZERO).currency("GBP")
+                .status(AccountStatus.ACTIVE).build()).getId();
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            transactionService.deposit(accountId, new TransactionRequestDTO(BigDecimal.TEN, TransactionType.DEPOSIT, "jmh " + i));
+        }
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        path = resource.equals("account") ? "/v1/accounts/" + accountId : "/v1/accounts/" + accountId + "/transactions";
+        eTag = mockMvc.perform(get(path)).andReturn().getResponse().getHeader("ETag");
+        if (mockMvc.perform(get(path).header("If-None-Match", eTag)).andReturn().getResponse().getStatus() != 304) {
+            throw new IllegalStateException("Expected 304 for an unchanged " + resource);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] full() throws Exception {
+        return mockMvc.perform(get(path)).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] notModified() throws Exception {
+        return mockMvc.perform(get(path).header("If-None-Match", eTag)).andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,67 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a page of history the way the MVC message converter does, with a mapper
+ * configured like Spring Boot's. Thread count comes from {@code -t}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    @Param({"10", "50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<TransactionResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(new TypeReference<List<TransactionResponseDTO>>() { });
+        page = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            page.add(new TransactionResponseDTO((long) i, new BigDecimal("12.34"), TransactionType.DEPOSIT,
+                    TransactionStatus.COMPLETED, "Card payment " + i, now.minusMinutes(i), 42L));
+        }
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cachedListWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,130 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.EagleBankApplication;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import com.eaglebank.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deposits and withdrawals through {@link TransactionService} against an in-memory H2
+ * database, from one thread and from eight threads. With {@code accounts=1} every thread
+ * hits the same account; with 64 the threads mostly work on different ledger lanes.
+ * {@code journal=true} acknowledges mutations from the journal instead of a database commit.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerBenchmark {
+    private static final TransactionRequestDTO DEPOSIT = new TransactionRequestDTO(BigDecimal.ONE, TransactionType.DEPOSIT, "jmh");
+    private static final TransactionRequestDTO WITHDRAWAL = new TransactionRequestDTO(BigDecimal.ONE, TransactionType.WITHDRAWAL, "jmh");
+
+    @Param({"1", "64"})
+    public int accounts;
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private Long[] accountIds;
+    private Path journalDirectory;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private int next = THREADS.getAndIncrement();
+
+        Long nextAccount(Long[] accountIds) {
+            return accountIds[Math.floorMod(next++, accountIds.length)];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        journalDirectory = Files.createTempDirectory("jmh-journal");
+        context = new SpringApplicationBuilder(EagleBankApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh-ledger;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "eaglebank.journal.enabled=" + journal,
+                        "eaglebank.journal.directory=" + journalDirectory,
+                        "logging.level.root=WARN")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        User owner = context.getBean(UserRepository.class).save(User.builder().firstName("Bench").lastName("Mark")
+                .email("bench@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        BankAccountRepository bankAccounts = context.getBean(BankAccountRepository.class);
+        accountIds = new Long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = bankAccounts.save(BankAccount.builder().accountNumber("JMH-" + i).user(owner)
+                    .type(AccountType.CHECKING).balance(new BigDecimal("1000000000.00")).currency("GBP")
+                    .status(AccountStatus.ACTIVE).build()).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(journalDirectory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TransactionResponseDTO deposit(Cursor cursor) {
+        return transactionService.deposit(cursor.nextAccount(accountIds), DEPOSIT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TransactionResponseDTO depositContended(Cursor cursor) {
+        return transactionService.deposit(cursor.nextAccount(accountIds), DEPOSIT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TransactionResponseDTO withdraw(Cursor cursor) {
+        return transactionService.withdraw(cursor.nextAccount(accountIds), WITHDRAWAL);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TransactionResponseDTO withdrawContended(Cursor cursor) {
+        return transactionService.withdraw(cursor.nextAccount(accountIds), WITHDRAWAL);
+    }
+}
@@ -0,0 +1,61 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.mapper.BankAccountMapper;
+import com.eaglebank.mapper.TransactionMapper;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.BankAccountResponseDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning entities into response DTOs. Thread count comes from {@code -t}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+    private Transaction transaction;
+    private BankAccount account;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).firstName("Bench").lastName("Mark").build();
+        account = BankAccount.builder().id(2L).accountNumber("GB00EAGL0000000002").user(user)
+                .type(AccountType.SAVINGS).balance(new BigDecimal("1234.56")).currency("GBP")
+                .status(AccountStatus.ACTIVE).createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).build();
+        transaction = Transaction.builder().id(3L).bankAccount(account).amount(new BigDecimal("10.00"))
+                .type(TransactionType.DEPOSIT).status(TransactionStatus.COMPLETED)
+                .description("Salary").timestamp(LocalDateTime.now()).build();
+    }
+
+    @Benchmark
+    public TransactionResponseDTO transactionToResponseDTO() {
+        return TransactionMapper.toResponseDTO(transaction);
+    }
+
+    @Benchmark
+    public BankAccountResponseDTO bankAccountToResponseDTO() {
+        return BankAccountMapper.toResponseDTO(account);
+    }
+}
@@ -0,0 +1,60 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.config.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One token-bucket check, as done per account or user request, against a limiter shared by all
+ * benchmark threads. {@code hot} sends every thread to the same bucket, {@code spread} to 4096
+ * different ones. Add {@code -prof gc} to confirm a check allocates nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+    private static final int KEYS = 4096;
+
+    @Param({"hot", "spread"})
+    public String keys;
+
+    private TokenBucketRateLimiter limiter;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new TokenBucketRateLimiter(1_000_000_000, 1_000, KEYS * 2, Duration.ofMinutes(5));
+        ids = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            ids[i] = "hot".equals(keys) ? "1" : String.valueOf(100_000 + i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public long tryAcquire(Cursor cursor) {
+        cursor.next = (cursor.next + 1) & (KEYS - 1);
+        return limiter.tryAcquire(ids[cursor.next]);
+    }
+}
@@ -0,0 +1,106 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.dto.BankAccountResponseDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A 500-row page of transactions or accounts written as JSON, CBOR and Smile with a cached
+ * writer, as the message converters do, and the same followed by gzip as with response
+ * compression. Each reports the bytes of the page it wrote as the {@code bytes} counter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationFormatBenchmark {
+    private static final int SIZE = 500;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"transactions", "accounts"})
+    public String payload;
+
+    private ObjectWriter writer;
+    private List<?> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> json.copyWith(new CBORFactory());
+            case "smile" -> json.copyWith(new SmileFactory());
+            default -> json.copyWith(new JsonFactory());
+        };
+        LocalDateTime now = LocalDateTime.now();
+        List<Object> rows = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            rows.add(payload.equals("transactions")
+                    ? new TransactionResponseDTO((long) i, new BigDecimal("12.34"), TransactionType.DEPOSIT,
+                            TransactionStatus.COMPLETED, "Card payment " + i, now.minusMinutes(i), 42L)
+                    : new BankAccountResponseDTO((long) i, "EB" + (1_000_000_000L + i), 7L, AccountType.CHECKING,
+                            new BigDecimal("1234.56"), "GBP", AccountStatus.ACTIVE, now.minusDays(i), now.minusMinutes(i), 0L));
+        }
+        page = rows;
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class,
+                payload.equals("transactions") ? TransactionResponseDTO.class : BankAccountResponseDTO.class));
+    }
+
+    /**
+     * Set rather than added to, so the counter reads as the size of one page.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PageSize {
+        public long bytes;
+    }
+
+    @Benchmark
+    public byte[] serialize(PageSize size) throws IOException {
+        byte[] body = writer.writeValueAsBytes(page);
+        size.bytes = body.length;
+        return body;
+    }
+
+    @Benchmark
+    public byte[] gzipped(PageSize size) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 * 1024);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            writer.writeValue(out, page);
+        }
+        size.bytes = bytes.size();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,102 @@
+package com.eaglebank.benchmark;
+
+import com.eaglebank.EagleBankApplication;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.model.dto.TransferResponseDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import com.eaglebank.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfers between randomly chosen pairs of a small set of hot accounts, from eight threads,
+ * so both directions of every pair are in flight at once. {@code withdrawThenDeposit} is the
+ * two-call workaround transfers replace, for comparison.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TransferBenchmark {
+    private static final BigDecimal AMOUNT = BigDecimal.ONE;
+    private static final TransactionRequestDTO WITHDRAWAL = new TransactionRequestDTO(AMOUNT, TransactionType.WITHDRAWAL, "jmh");
+    private static final TransactionRequestDTO DEPOSIT = new TransactionRequestDTO(AMOUNT, TransactionType.DEPOSIT, "jmh");
+
+    @Param({"2", "8", "64"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private Long[] accountIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(EagleBankApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh-transfer;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        User owner = context.getBean(UserRepository.class).save(User.builder().firstName("Bench").lastName("Mark")
+                .email("bench@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        BankAccountRepository bankAccounts = context.getBean(BankAccountRepository.class);
+        accountIds = new Long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = bankAccounts.save(BankAccount.builder().accountNumber("JMH-T-" + i).user(owner)
+                    .type(AccountType.CHECKING).balance(new BigDecimal("1000000000.00")).currency("GBP")
+                    .status(AccountStatus.ACTIVE).build()).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransferResponseDTO transfer() {
+        int from = ThreadLocalRandom.current().nextInt(accounts);
+        int to = (from + 1 + ThreadLocalRandom.current().nextInt(accounts - 1)) % accounts;
+        return transactionService.transfer(new TransferRequestDTO(accountIds[from], accountIds[to], AMOUNT, "jmh"));
+    }
+
+    @Benchmark
+    public TransactionResponseDTO withdrawThenDeposit() {
+        int from = ThreadLocalRandom.current().nextInt(accounts);
+        int to = (from + 1 + ThreadLocalRandom.current().nextInt(accounts - 1)) % accounts;
+        transactionService.withdraw(accountIds[from], WITHDRAWAL);
+        return transactionService.deposit(accountIds[to], DEPOSIT);
+    }
+}
@@ -0,0 +1,89 @@
+package com.eaglebank.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency with additive increase, multiplicative
+ * decrease (AIMD), as TCP does for its congestion window.
+ * <p>
+ * While responses come back within the latency threshold and the limit is actually being used,
+ * the limit grows by about one per limit's worth of responses. A response slower than the
+ * threshold, or one the application dropped, multiplies the limit by the backoff ratio, at most
+ * once per threshold interval so a burst of slow responses counts as one signal.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final Object lock = new Object();
+    private double limit;
+    private volatile int currentLimit;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max but were " + minLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.currentLimit = (int) limit;
+        this.lastBackoffNanos = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    /**
+     * Takes a slot if fewer than the current limit are in flight. Every successful call must be
+     * followed by exactly one {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot and feeds the request's latency, and whether it was dropped, into the limit.
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        synchronized (lock) {
+            if (dropped || latencyNanos > latencyThresholdNanos) {
+                if (now - lastBackoffNanos >= latencyThresholdNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoffNanos = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            currentLimit = (int) limit;
+        }
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,77 @@
+package com.eaglebank.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the {@link AdmissionControlFilter} when {@code eaglebank.admission.enabled} is set,
+ * with one limiter for reads and one for writes.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "eaglebank.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    AdaptiveConcurrencyLimiter readLimiter(EagleBankProperties properties) {
+        return limiter(properties.getAdmission().getReads(), properties.getAdmission());
+    }
+
+    @Bean
+    AdaptiveConcurrencyLimiter writeLimiter(EagleBankProperties properties) {
+        return limiter(properties.getAdmission().getWrites(), properties.getAdmission());
+    }
+
+    @Bean
+    FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdaptiveConcurrencyLimiter readLimiter,
+                                                                         AdaptiveConcurrencyLimiter writeLimiter,
+                                                                         EagleBankProperties properties) {
+        log.info("Admission control on /v1: reads start at {}, writes at {} concurrent requests",
+                readLimiter.getLimit(), writeLimiter.getLimit());
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(readLimiter, writeLimiter, properties.getAdmission().getRetryAfter()));
+        registration.addUrlPatterns("/v1/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Current limit, requests in flight and rejections per request class; the rejection rate is
+     * the rate of {@code eaglebank.admission.rejected}.
+     */
+    @Bean
+    MeterBinder admissionControlMetrics(AdaptiveConcurrencyLimiter readLimiter, AdaptiveConcurrencyLimiter writeLimiter) {
+        return registry -> {
+            bind(registry, "read", readLimiter);
+            bind(registry, "write", writeLimiter);
+        };
+    }
+
+    private static void bind(MeterRegistry registry, String requestClass, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("eaglebank.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Concurrent requests currently admitted")
+                .tag("class", requestClass)
+                .register(registry);
+        Gauge.builder("eaglebank.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Admitted requests not finished yet")
+                .tag("class", requestClass)
+                .register(registry);
+        FunctionCounter.builder("eaglebank.admission.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("Requests answered with 503 because the limit was reached")
+                .tag("class", requestClass)
+                .register(registry);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(EagleBankProperties.AdmissionLimit limit, EagleBankProperties.Admission config) {
+        return new AdaptiveConcurrencyLimiter(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                limit.getLatencyThreshold(), config.getBackoffRatio());
+    }
+}
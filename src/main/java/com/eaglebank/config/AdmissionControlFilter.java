@@ -0,0 +1,60 @@
+package com.eaglebank.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Admits {@code /v1} requests through the read or the write {@link AdaptiveConcurrencyLimiter}
+ * and answers 503 with Retry-After straight away when the limit is reached, before the request
+ * takes a database connection. A 503 from further in, such as a connection bulkhead timeout,
+ * counts as a dropped request. Streaming imports and exports are long by design and are not limited.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final String BUSY_BODY = "{\"error\":\"Service busy, please retry\"}";
+
+    private final AdaptiveConcurrencyLimiter reads;
+    private final AdaptiveConcurrencyLimiter writes;
+    private final String retryAfterSeconds;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter reads, AdaptiveConcurrencyLimiter writes, Duration retryAfter) {
+        this.reads = reads;
+        this.writes = writes;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/v1/") || path.endsWith("/export") || path.endsWith("/import");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = HttpMethod.GET.matches(request.getMethod()) ? reads : writes;
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(BUSY_BODY);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.eaglebank.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process Caffeine caches for users and bank accounts. Size, TTL and statistics are set
+ * through {@code spring.cache.caffeine.spec}; hit, miss and eviction counters are published
+ * as the {@code cache.*} metrics.
+ * <p>
+ * Bank accounts are cached as their response DTOs, which hold only the owner's id, so changes
+ * to the owner never leave a cached account stale.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String BANK_ACCOUNTS = "bankAccounts";
+}
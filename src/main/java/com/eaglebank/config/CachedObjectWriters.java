@@ -0,0 +1,37 @@
+package com.eaglebank.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link ObjectWriter} per response type, with its root serializer resolved once, for a
+ * message converter's mapper. Only collections and the API's own DTOs are cached: for those the
+ * declared type is the type written, and the set of them is fixed by the controller signatures.
+ */
+final class CachedObjectWriters {
+    private static final String DTO_PACKAGE = "com.eaglebank.model.dto";
+
+    private final ObjectMapper objectMapper;
+    private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    CachedObjectWriters(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the cached writer for {@code type}, or {@code writer} unchanged when it carries a
+     * JSON view or filters, which show up as a configuration other than the mapper's own.
+     */
+    ObjectWriter writerFor(ObjectWriter writer, JavaType type) {
+        if (type == null || writer.getConfig() != objectMapper.getSerializationConfig()) {
+            return writer;
+        }
+        if (!type.isContainerType() && !type.getRawClass().getPackageName().equals(DTO_PACKAGE)) {
+            return writer;
+        }
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+}
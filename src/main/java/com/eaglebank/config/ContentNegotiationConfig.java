@@ -0,0 +1,85 @@
+package com.eaglebank.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.List;
+
+/**
+ * Offers CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) next to
+ * JSON on every endpoint, chosen by the request's {@code Accept} header. JSON stays first, so
+ * clients that accept anything still get JSON.
+ * <p>
+ * The binary mappers are copies of Spring Boot's JSON mapper with another factory, so dates,
+ * amounts and enums are written the same way in all three formats. All three converters reuse
+ * one {@link ObjectWriter} per response type instead of resolving the root serializer per response.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter json && !(json instanceof CachingJsonConverter)) {
+                ObjectMapper objectMapper = json.getObjectMapper();
+                converters.set(i, new CachingJsonConverter(objectMapper));
+                converters.add(i + 1, new CachingCborConverter(objectMapper.copyWith(new CBORFactory())));
+                converters.add(i + 2, new CachingSmileConverter(objectMapper.copyWith(new SmileFactory())));
+                return;
+            }
+        }
+    }
+
+    private static class CachingJsonConverter extends MappingJackson2HttpMessageConverter {
+        private final CachedObjectWriters writers;
+
+        CachingJsonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+            this.writers = new CachedObjectWriters(objectMapper);
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+            return writers.writerFor(writer, javaType);
+        }
+    }
+
+    private static class CachingCborConverter extends MappingJackson2CborHttpMessageConverter {
+        private final CachedObjectWriters writers;
+
+        CachingCborConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+            this.writers = new CachedObjectWriters(objectMapper);
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+            return writers.writerFor(writer, javaType);
+        }
+    }
+
+    private static class CachingSmileConverter extends MappingJackson2SmileHttpMessageConverter {
+        private final CachedObjectWriters writers;
+
+        CachingSmileConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+            this.writers = new CachedObjectWriters(objectMapper);
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+            return writers.writerFor(writer, javaType);
+        }
+    }
+}
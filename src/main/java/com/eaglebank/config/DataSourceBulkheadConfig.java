@@ -0,0 +1,62 @@
+package com.eaglebank.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link BulkheadDataSource} in front of the application's connection pool when
+ * {@code eaglebank.bulkhead.enabled} is set. Unless configured, the limit matches Hikari's
+ * maximum pool size.
+ */
+@Slf4j
+@Configuration
+public class DataSourceBulkheadConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceBulkheadPostProcessor(ObjectProvider<EagleBankProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                EagleBankProperties.Bulkhead config = properties.getObject().getBulkhead();
+                if (!config.isEnabled()) {
+                    return bean;
+                }
+                int maxConcurrent = config.getMaxConcurrent();
+                if (maxConcurrent <= 0) {
+                    maxConcurrent = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                }
+                log.info("Connection bulkhead on '{}': {} concurrent connections, {} acquire timeout",
+                        beanName, maxConcurrent, config.getAcquireTimeout());
+                return new BulkheadDataSource(dataSource, maxConcurrent, config.getAcquireTimeout());
+            }
+        };
+    }
+
+    /**
+     * Free permits and queued callers of the bulkhead, next to Boot's {@code hikaricp.*} pool gauges.
+     */
+    @Bean
+    MeterBinder dataSourceBulkheadMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(BulkheadDataSource.class::isInstance)
+                .map(BulkheadDataSource.class::cast)
+                .forEach(bulkhead -> {
+                    Gauge.builder("eaglebank.db.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                            .description("Connection permits not in use")
+                            .register(registry);
+                    Gauge.builder("eaglebank.db.bulkhead.waiting", bulkhead, BulkheadDataSource::getQueueLength)
+                            .description("Callers waiting for a connection permit")
+                            .register(registry);
+                });
+    }
+}
@@ -0,0 +1,413 @@
+package com.eaglebank.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+
+/**
+ * Application specific settings, bound from the {@code eaglebank.*} properties.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "eaglebank")
+public class EagleBankProperties {
+
+    private Ledger ledger = new Ledger();
+
+    @Valid
+    private Batch batch = new Batch();
+
+    private Id id = new Id();
+
+    private Export export = new Export();
+
+    private Bulkhead bulkhead = new Bulkhead();
+
+    private Idempotency idempotency = new Idempotency();
+
+    private Journal journal = new Journal();
+
+    private Rebuild rebuild = new Rebuild();
+
+    @Valid
+    private BulkImport bulkImport = new BulkImport();
+
+    private Admission admission = new Admission();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private AccountNumber accountNumber = new AccountNumber();
+
+    private EntityCache entityCache = new EntityCache();
+
+    @Data
+    public static class Ledger {
+        /**
+         * Route balance mutations through the per-account ledger lanes.
+         * When disabled, deposits and withdrawals run on the calling thread.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of single-writer lanes. Zero means one lane per available processor.
+         */
+        private int lanes = 0;
+
+        /**
+         * Mutations that may wait on one lane. Further submissions are rejected with 503 and
+         * Retry-After instead of queueing without bound.
+         */
+        @Min(1)
+        private int queueCapacity = 1000;
+
+        /**
+         * How a lane applies a balance change to the database.
+         */
+        private BalanceUpdateMode balanceUpdateMode = BalanceUpdateMode.ENTITY;
+    }
+
+    @Data
+    public static class Batch {
+        /**
+         * Maximum number of batch items applied in one database transaction.
+         */
+        @Min(1)
+        private int chunkSize = 500;
+
+        /**
+         * Maximum number of items accepted in a single batch request.
+         */
+        private int maxItems = 10_000;
+    }
+
+    @Data
+    public static class Id {
+        /**
+         * Number of ids reserved per sequence call for users, accounts and transactions.
+         * Must match the INCREMENT BY of existing sequences.
+         */
+        private int blockSize = 50;
+    }
+
+    @Data
+    public static class Export {
+        /**
+         * Rows the JDBC driver fetches per round trip while streaming an export.
+         */
+        private int fetchSize = 1000;
+    }
+
+    @Data
+    public static class Bulkhead {
+        /**
+         * Limit how many callers may hold a database connection at once.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Connections that may be in use at once. Zero means the pool's maximum size.
+         */
+        private int maxConcurrent = 0;
+
+        /**
+         * How long a caller waits for a permit before the request fails with 503.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Idempotency {
+        /**
+         * Most recent idempotent responses kept in memory.
+         */
+        private long maxEntries = 100_000;
+
+        /**
+         * How long a response stays in memory. Older keys are still recognised
+         * through the database, at the cost of a rolled back write.
+         */
+        private Duration ttl = Duration.ofHours(24);
+    }
+
+    @Data
+    public static class Journal {
+        /**
+         * Acknowledge deposits and withdrawals once they are durable in the journal and write
+         * them to the database in the background. Transfers and batches are rejected meanwhile.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the journal segment files.
+         */
+        private String directory = "data/journal";
+
+        /**
+         * Size of each memory-mapped segment file.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * How long the flusher waits for more appends before forcing them to disk.
+         * Zero forces as soon as anything has been appended.
+         */
+        private Duration groupCommitDelay = Duration.ZERO;
+
+        /**
+         * Most journal events written to the database in one transaction.
+         */
+        private int projectorBatchSize = 500;
+
+        /**
+         * Wait before retrying a batch the projector could not write; doubles on each failure.
+         */
+        private Duration projectorRetryBackoff = Duration.ofMillis(100);
+
+        /**
+         * Longest wait between projector retries.
+         */
+        private Duration projectorMaxBackoff = Duration.ofSeconds(5);
+
+        /**
+         * Failed attempts at writing one batch after which appends are rejected and health
+         * reports DOWN. The projector keeps retrying and appends resume once it succeeds.
+         */
+        private int projectorFailureThreshold = 5;
+    }
+
+    @Data
+    public static class Rebuild {
+        /**
+         * What the balance rebuild does at startup.
+         */
+        private RebuildMode mode = RebuildMode.OFF;
+
+        /**
+         * Transaction ids scanned by one fork-join task.
+         */
+        private int partitionSize = 50_000;
+
+        /**
+         * Fork-join parallelism. Zero means one worker per available processor.
+         */
+        private int parallelism = 0;
+
+        /**
+         * Binary snapshot of rebuilt balances; the next rebuild only scans transactions after it.
+         * Empty disables snapshots.
+         */
+        private String snapshotFile = "data/balance-snapshot.bin";
+    }
+
+    @Data
+    public static class BulkImport {
+        /**
+         * Imported rows validated and inserted per database transaction.
+         */
+        @Min(1)
+        private int chunkSize = 500;
+
+        /**
+         * Row errors listed in an import report; further errors are only counted.
+         */
+        private int maxReportedErrors = 1000;
+
+        /**
+         * Longest NDJSON line read, in characters. A longer line is reported and skipped without
+         * being held in memory.
+         */
+        @Min(1)
+        private int maxLineLength = 64 * 1024;
+    }
+
+    @Data
+    public static class Admission {
+        /**
+         * Shed load on {@code /v1} endpoints with an adaptive concurrency limit, answering 503
+         * instead of queueing once the limit is reached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Limit for GET requests. Reads get their own limit so a write backlog cannot starve them.
+         */
+        private AdmissionLimit reads = new AdmissionLimit(100, 20, 1000, Duration.ofMillis(200));
+
+        /**
+         * Limit for deposits, withdrawals, transfers and the other non-GET requests.
+         */
+        private AdmissionLimit writes = new AdmissionLimit(50, 10, 500, Duration.ofMillis(250));
+
+        /**
+         * Factor the limit is multiplied by when requests are slow or dropped.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Value of the Retry-After header on rejected requests.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AdmissionLimit {
+        /**
+         * Concurrent requests allowed before any latency has been observed.
+         */
+        private int initialLimit;
+
+        /**
+         * The limit never backs off below this.
+         */
+        private int minLimit;
+
+        /**
+         * The limit never grows beyond this.
+         */
+        private int maxLimit;
+
+        /**
+         * Requests slower than this make the limit back off; faster ones let it grow.
+         */
+        private Duration latencyThreshold;
+    }
+
+    @Data
+    public static class RateLimit {
+        /**
+         * Limit request rates per account and per user with token buckets, answering 429 when empty.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Most buckets kept per endpoint group; the least recently used are dropped beyond this.
+         */
+        private int maxBuckets = 100_000;
+
+        /**
+         * Buckets not used for this long are dropped and start full again when next used.
+         * Keep it longer than the time a bucket takes to refill.
+         */
+        private Duration idleTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Account and transaction reads, per account.
+         */
+        private RateLimitRule accountReads = new RateLimitRule(50, 100);
+
+        /**
+         * Deposits, withdrawals and account updates, per account.
+         */
+        private RateLimitRule accountWrites = new RateLimitRule(20, 40);
+
+        /**
+         * Requests to {@code /v1/users/{id}}, per user.
+         */
+        private RateLimitRule users = new RateLimitRule(20, 40);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RateLimitRule {
+        /**
+         * Sustained requests per second.
+         */
+        private double ratePerSecond;
+
+        /**
+         * Requests allowed back to back before the rate applies.
+         */
+        private int burst;
+    }
+
+    @Data
+    public static class AccountNumber {
+        /**
+         * Generate the account number when a new account is requested without one.
+         */
+        private boolean generate = false;
+
+        /**
+         * Prefix of generated numbers, keeping them apart from numbers chosen by clients.
+         */
+        private String prefix = "EB";
+
+        /**
+         * Digits of the sequence part of a generated number; a Luhn check digit follows them.
+         */
+        private int digits = 10;
+
+        /**
+         * Sequence values leased from the database counter at a time.
+         */
+        private int blockSize = 1000;
+
+        /**
+         * Blocks held at once, each serving a share of the threads. Zero means twice the
+         * available processors, rounded up to a power of two.
+         */
+        private int stripes = 0;
+    }
+
+    @Data
+    public static class EntityCache {
+        /**
+         * Keep loaded users and bank accounts in Hibernate's second-level cache.
+         */
+        private boolean enabled = false;
+
+        private EntityCacheRegion users = new EntityCacheRegion(10_000, Duration.ofMinutes(10));
+
+        private EntityCacheRegion bankAccounts = new EntityCacheRegion(10_000, Duration.ofSeconds(60));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EntityCacheRegion {
+        /**
+         * Entries kept before the least valuable are evicted.
+         */
+        private long maximumSize;
+
+        /**
+         * How long an entry is served after it was cached, bounding staleness from writes made around Hibernate.
+         */
+        private Duration expireAfterWrite;
+    }
+
+    public enum RebuildMode {
+        /**
+         * Do not rebuild at startup.
+         */
+        OFF,
+        /**
+         * Rebuild balances from the ledger and log the accounts whose stored balance differs.
+         */
+        VERIFY,
+        /**
+         * As VERIFY, then overwrite the differing stored balances with the rebuilt ones.
+         */
+        REPAIR
+    }
+
+    public enum BalanceUpdateMode {
+        /**
+         * Load the account entity, change its balance and let Hibernate flush the update.
+         */
+        ENTITY,
+        /**
+         * Issue one conditional UPDATE per mutation without loading the account.
+         */
+        ATOMIC
+    }
+}
@@ -0,0 +1,77 @@
+package com.eaglebank.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for users and bank accounts, enabled with
+ * {@code eaglebank.entity-cache.enabled}. Each region is a Caffeine cache behind JCache, sized
+ * from {@code eaglebank.entity-cache.*}; Hibernate statistics are switched on with it, so hits,
+ * misses and puts per region appear as the {@code hibernate.second.level.cache.*} metrics.
+ * <p>
+ * Every application context gets its own JCache manager, so contexts sharing a JVM (as tests
+ * do) never see each other's entities. Every bulk JPQL update makes Hibernate clear the whole
+ * account region, so the cache refuses to start with the {@code ATOMIC} balance update mode, whose
+ * ledger writes are such updates; in {@code ENTITY} mode each write replaces only its own entry.
+ * Writes through plain JDBC are evicted per account by {@link com.eaglebank.service.CacheInvalidator}.
+ */
+@Configuration
+public class EntityCacheConfig {
+    public static final String USERS_REGION = "entity.users";
+    public static final String BANK_ACCOUNTS_REGION = "entity.bankAccounts";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "eaglebank.entity-cache", name = "enabled", havingValue = "true")
+    public CacheManager entityCacheManager(EagleBankProperties properties) {
+        if (properties.getLedger().getBalanceUpdateMode() == EagleBankProperties.BalanceUpdateMode.ATOMIC) {
+            throw new IllegalStateException("eaglebank.entity-cache.enabled needs eaglebank.ledger.balance-update-mode=ENTITY;"
+                    + " ATOMIC balance updates would clear the whole account region on every write");
+        }
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("eaglebank-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        EagleBankProperties.EntityCache config = properties.getEntityCache();
+        cacheManager.createCache(USERS_REGION, region(config.getUsers()));
+        cacheManager.createCache(BANK_ACCOUNTS_REGION, region(config.getBankAccounts()));
+        return cacheManager;
+    }
+
+    /**
+     * Without a cache manager the second-level cache is switched off explicitly; Hibernate would
+     * otherwise pick up the JCache region factory from the classpath on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheProperties(ObjectProvider<CacheManager> entityCacheManager) {
+        return hibernate -> {
+            CacheManager cacheManager = entityCacheManager.getIfAvailable();
+            hibernate.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheManager != null);
+            if (cacheManager != null) {
+                hibernate.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernate.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+                hibernate.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+                hibernate.put(AvailableSettings.GENERATE_STATISTICS, true);
+                hibernate.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(EagleBankProperties.EntityCacheRegion region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
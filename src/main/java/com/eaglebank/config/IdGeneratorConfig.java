@@ -0,0 +1,23 @@
+package com.eaglebank.config;
+
+import com.eaglebank.model.PooledSequenceGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+import java.util.Map;
+
+/**
+ * Passes {@code eaglebank.id.block-size} to the {@link PooledSequenceGenerator}s.
+ */
+@Configuration
+public class IdGeneratorConfig implements HibernatePropertiesCustomizer {
+    private final EagleBankProperties properties;
+
+    public IdGeneratorConfig(EagleBankProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(PooledSequenceGenerator.BLOCK_SIZE_SETTING, properties.getId().getBlockSize());
+    }
+}
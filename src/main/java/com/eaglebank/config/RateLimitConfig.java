@@ -0,0 +1,71 @@
+package com.eaglebank.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link RateLimitInterceptor} for account and user endpoints when
+ * {@code eaglebank.rate-limit.enabled} is set. Streaming imports and exports are not limited.
+ * Being a {@link WebMvcConfigurer}, this is also loaded by MVC test slices, which do not scan
+ * for properties, hence the explicit {@link EnableConfigurationProperties}.
+ */
+@Configuration
+@EnableConfigurationProperties(EagleBankProperties.class)
+@ConditionalOnProperty(prefix = "eaglebank.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+    private final TokenBucketRateLimiter accountReads;
+    private final TokenBucketRateLimiter accountWrites;
+    private final TokenBucketRateLimiter users;
+
+    public RateLimitConfig(EagleBankProperties properties) {
+        EagleBankProperties.RateLimit config = properties.getRateLimit();
+        this.accountReads = limiter(config.getAccountReads(), config);
+        this.accountWrites = limiter(config.getAccountWrites(), config);
+        this.users = limiter(config.getUsers(), config);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(accountReads, accountWrites))
+                .addPathPatterns("/v1/accounts/*", "/v1/accounts/*/**")
+                .excludePathPatterns("/v1/accounts/import", "/v1/accounts/*/transactions/export");
+        registry.addInterceptor(new RateLimitInterceptor(users, users))
+                .addPathPatterns("/v1/users/*", "/v1/users/*/**")
+                .excludePathPatterns("/v1/users/import", "/v1/users/export");
+    }
+
+    /**
+     * Rejections and live buckets per endpoint group.
+     */
+    @Bean
+    MeterBinder rateLimitMetrics() {
+        return registry -> {
+            bind(registry, "account-reads", accountReads);
+            bind(registry, "account-writes", accountWrites);
+            bind(registry, "users", users);
+        };
+    }
+
+    private static void bind(MeterRegistry registry, String group, TokenBucketRateLimiter limiter) {
+        FunctionCounter.builder("eaglebank.ratelimit.rejected", limiter, TokenBucketRateLimiter::getRejected)
+                .description("Requests answered with 429")
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("eaglebank.ratelimit.buckets", limiter, TokenBucketRateLimiter::getBucketCount)
+                .description("Token buckets currently kept")
+                .tag("group", group)
+                .register(registry);
+    }
+
+    private static TokenBucketRateLimiter limiter(EagleBankProperties.RateLimitRule rule, EagleBankProperties.RateLimit config) {
+        return new TokenBucketRateLimiter(rule.getRatePerSecond(), rule.getBurst(), config.getMaxBuckets(), config.getIdleTimeout());
+    }
+}
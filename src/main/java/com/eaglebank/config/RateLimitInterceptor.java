@@ -0,0 +1,101 @@
+package com.eaglebank.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charges each request to the bucket of the account or user in its path, the {@code accountId}
+ * or {@code id} path variable, using the read limiter for GET and the write limiter otherwise.
+ * Every limited response carries {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining} and
+ * {@code X-RateLimit-Reset} (seconds until the bucket is full); a rejected one is a 429 with
+ * {@code Retry-After}.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+    private static final String TOO_MANY_BODY = "{\"error\":\"Too many requests, please retry later\"}";
+
+    private final TokenBucketRateLimiter reads;
+    private final TokenBucketRateLimiter writes;
+
+    public RateLimitInterceptor(TokenBucketRateLimiter reads, TokenBucketRateLimiter writes) {
+        this.reads = reads;
+        this.writes = writes;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        String key = key(request);
+        if (key == null) {
+            return true;
+        }
+        TokenBucketRateLimiter limiter = HttpMethod.GET.matches(request.getMethod()) ? reads : writes;
+        long result = limiter.tryAcquire(key);
+        response.setHeader(LIMIT_HEADER, Integer.toString(limiter.getBurst()));
+        if (result >= 0) {
+            response.setHeader(REMAINING_HEADER, Long.toString(result));
+            response.setHeader(RESET_HEADER, Long.toString(seconds(limiter.nanosUntilFull(result))));
+            return true;
+        }
+        String retryAfter = Long.toString(seconds(-result));
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setHeader(RESET_HEADER, retryAfter);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(TOO_MANY_BODY);
+        return false;
+    }
+
+    /**
+     * The path variable as Spring matched it. Ids written in a non-canonical form, such as with
+     * leading zeros, are normalised so they cannot be used to get a fresh bucket; ids that are
+     * not numbers are left for the controller to reject.
+     */
+    @SuppressWarnings("unchecked")
+    private static String key(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            return null;
+        }
+        String key = variables.get("accountId");
+        if (key == null) {
+            key = variables.get("id");
+        }
+        if (key == null || isCanonical(key)) {
+            return key;
+        }
+        try {
+            return Long.toString(Long.parseLong(key.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isCanonical(String id) {
+        if (id.isEmpty() || id.length() > 18 || (id.charAt(0) == '0' && id.length() > 1)) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,84 @@
+package com.eaglebank.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Token buckets for one endpoint group, one per key, kept in a bounded Caffeine map that drops
+ * idle buckets.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time, the generic
+ * cell rate algorithm (GCRA) form of a token bucket: a request is allowed if that time is no more
+ * than {@code burst - 1} intervals ahead of now, and moves it one interval on with a CAS. Nothing
+ * is refilled on a timer, there is no lock, and a check allocates nothing once the bucket exists.
+ */
+public class TokenBucketRateLimiter {
+    private static final Function<String, AtomicLong> NEW_BUCKET = key -> new AtomicLong(Long.MIN_VALUE);
+
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketRateLimiter(double ratePerSecond, int burst, int maxBuckets, Duration idleTimeout) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1 but were " + ratePerSecond + " and " + burst);
+        }
+        this.burst = burst;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Takes a token from the key's bucket. Returns the tokens left if one was taken, otherwise a
+     * negative number whose magnitude is the nanoseconds until the next token.
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(String key, long now) {
+        AtomicLong arrival = buckets.get(key, NEW_BUCKET);
+        while (true) {
+            long current = arrival.get();
+            long base = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long ahead = base - now;
+            if (ahead > toleranceNanos) {
+                rejected.increment();
+                return -(ahead - toleranceNanos);
+            }
+            if (arrival.compareAndSet(current, base + intervalNanos)) {
+                return (toleranceNanos - ahead) / intervalNanos;
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until a bucket with {@code remaining} tokens is full again, rounded up to whole tokens.
+     */
+    public long nanosUntilFull(long remaining) {
+        return (burst - remaining) * intervalNanos;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getBucketCount() {
+        return buckets.estimatedSize();
+    }
+}
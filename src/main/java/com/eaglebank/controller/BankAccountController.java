@@ -1,18 +1,26 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.mapper.BankAccountMapper;
 import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.ExportFormat;
 import com.eaglebank.model.User;
 import com.eaglebank.model.dto.BankAccountRequestDTO;
 import com.eaglebank.model.dto.BankAccountResponseDTO;
+import com.eaglebank.model.dto.ImportResponseDTO;
 import com.eaglebank.service.BankAccountService;
+import com.eaglebank.service.BulkImportService;
 import com.eaglebank.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.stream.Collectors;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -24,12 +32,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 @RequestMapping("/v1/accounts")
 @Validated
 public class BankAccountController {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
     private final BankAccountService bankAccountService;
     private final UserService userService;
+    private final BulkImportService bulkImportService;
 
-    public BankAccountController(BankAccountService bankAccountService, UserService userService) {
+    public BankAccountController(BankAccountService bankAccountService, UserService userService, BulkImportService bulkImportService) {
         this.bankAccountService = bankAccountService;
         this.userService = userService;
+        this.bulkImportService = bulkImportService;
     }
 
     @Operation(summary = "Delete a bank account", description = "Deletes a bank account by its unique ID.")
@@ -43,58 +55,50 @@ public class BankAccountController {
     @PostMapping
     public ResponseEntity<BankAccountResponseDTO> createBankAccount(@Valid @RequestBody BankAccountRequestDTO dto) {
         BankAccount created = bankAccountService.createBankAccount(toBankAccount(dto));
-        return ResponseEntity.status(201).body(toBankAccountResponseDTO(created));
+        return ResponseEntity.status(201).body(BankAccountMapper.toResponseDTO(created));
     }
 
     @Operation(summary = "Update a bank account", description = "Updates an existing bank account by ID.")
     @PutMapping("/{id}")
     public ResponseEntity<BankAccountResponseDTO> updateBankAccount(@PathVariable Long id, @Valid @RequestBody BankAccountRequestDTO dto) {
         BankAccount updated = bankAccountService.updateBankAccount(id, toBankAccount(dto));
-        return ResponseEntity.ok(toBankAccountResponseDTO(updated));
+        return ResponseEntity.ok(BankAccountMapper.toResponseDTO(updated));
     }
 
-    @Operation(summary = "Get a bank account by ID", description = "Fetches a bank account by its unique ID.")
+    @Operation(summary = "Get a bank account by ID", description = "Fetches a bank account by its unique ID. Responses carry an ETag taken from the same cached copy as the body; a matching If-None-Match is answered with 304 and no body.")
     @GetMapping("/{id}")
-    public ResponseEntity<BankAccountResponseDTO> getBankAccountById(@PathVariable Long id) {
-        BankAccount account = bankAccountService.getBankAccountById(id);
-        return ResponseEntity.ok(toBankAccountResponseDTO(account));
+    public ResponseEntity<BankAccountResponseDTO> getBankAccountById(@PathVariable Long id, WebRequest request) {
+        BankAccountResponseDTO account = bankAccountService.getBankAccountById(id);
+        if (request.checkNotModified(BankAccountMapper.toETag(account))) {
+            return null;
+        }
+        return ResponseEntity.ok(account);
+    }
+
+    @Operation(summary = "Get a bank account by account number", description = "Resolves the account number to an ID in memory, then fetches the account by that ID.")
+    @GetMapping("/by-number/{accountNumber}")
+    public ResponseEntity<BankAccountResponseDTO> getBankAccountByNumber(@PathVariable String accountNumber) {
+        Long id = bankAccountService.getBankAccountIdByNumber(accountNumber);
+        return ResponseEntity.ok(bankAccountService.getBankAccountById(id));
     }
 
     @Operation(summary = "Get all bank accounts", description = "Fetches a list of all bank accounts.")
     @GetMapping
     public ResponseEntity<List<BankAccountResponseDTO>> getAllBankAccounts(Pageable pageable) {
-        return ResponseEntity.ok(
-            bankAccountService.getAllBankAccounts(pageable)
-                .stream()
-                .map(this::toBankAccountResponseDTO)
-                .collect(Collectors.toList())
-        );
+        return ResponseEntity.ok(bankAccountService.getAllBankAccounts(pageable).getContent());
     }
 
-    // Mapping methods
-    private BankAccount toBankAccount(BankAccountRequestDTO dto) {
-        User user = userService.getUserById(dto.getUserId());
-        return BankAccount.builder()
-                .accountNumber(dto.getAccountNumber())
-                .user(user)
-                .type(dto.getType())
-                .balance(dto.getBalance())
-                .currency(dto.getCurrency())
-                .status(dto.getStatus())
-                .build();
+    @Operation(summary = "Import bank accounts", description = "Creates one bank account per NDJSON line or CSV record, committing in chunks. Owners are looked up once per chunk. Returns counts and the rows that were rejected.")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportResponseDTO> importBankAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                InputStream body) throws IOException {
+        ExportFormat format = TEXT_CSV.isCompatibleWith(contentType) ? ExportFormat.CSV : ExportFormat.NDJSON;
+        return ResponseEntity.ok(bulkImportService.importBankAccounts(format, body));
     }
 
-    private BankAccountResponseDTO toBankAccountResponseDTO(BankAccount account) {
-        return BankAccountResponseDTO.builder()
-                .id(account.getId())
-                .accountNumber(account.getAccountNumber())
-                .userId(account.getUser().getId())
-                .type(account.getType())
-                .balance(account.getBalance())
-                .currency(account.getCurrency())
-                .status(account.getStatus())
-                .createdAt(account.getCreatedAt())
-                .updatedAt(account.getUpdatedAt())
-                .build();
+    // Mapping methods
+    private BankAccount toBankAccount(BankAccountRequestDTO dto) {
+        User user = userService.getOwner(dto.getUserId());
+        return BankAccountMapper.toBankAccount(dto, user);
     }
-} 
\ No newline at end of file
+}
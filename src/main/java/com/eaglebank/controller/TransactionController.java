@@ -1,13 +1,27 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.model.dto.BatchTransactionRequestDTO;
+import com.eaglebank.model.dto.BatchTransactionResponseDTO;
+import com.eaglebank.model.dto.CursorPage;
+import com.eaglebank.model.dto.TransactionHistoryRequestDTO;
 import com.eaglebank.model.dto.TransactionRequestDTO;
 import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.model.dto.TransferResponseDTO;
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.service.TransactionExportService;
 import com.eaglebank.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
 import java.util.List;
 import io.swagger.v3.oas.annotations.Operation;
 
@@ -16,25 +30,50 @@ import io.swagger.v3.oas.annotations.Operation;
 @RequestMapping("/v1")
 @RequiredArgsConstructor
 public class TransactionController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
 
-    @Operation(summary = "Deposit to account", description = "Deposits funds into a bank account.")
+    @Operation(summary = "Deposit to account", description = "Deposits funds into a bank account. Retries sent with the same Idempotency-Key return the original transaction.")
     @PostMapping("/accounts/{accountId}/transactions/deposit")
     public ResponseEntity<TransactionResponseDTO> deposit(
             @PathVariable Long accountId,
-            @Valid @RequestBody TransactionRequestDTO requestDTO) {
-        log.debug("Deposit request: accountId={}, request={}", accountId, requestDTO);
-        TransactionResponseDTO response = transactionService.deposit(accountId, requestDTO);
+            @Valid @RequestBody TransactionRequestDTO requestDTO,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("Deposit request: accountId={}, request={}, idempotencyKey={}", accountId, requestDTO, idempotencyKey);
+        TransactionResponseDTO response = transactionService.deposit(accountId, requestDTO, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Withdraw from account", description = "Withdraws funds from a bank account.")
+    @Operation(summary = "Withdraw from account", description = "Withdraws funds from a bank account. Retries sent with the same Idempotency-Key return the original transaction.")
     @PostMapping("/accounts/{accountId}/transactions/withdraw")
     public ResponseEntity<TransactionResponseDTO> withdraw(
             @PathVariable Long accountId,
-            @Valid @RequestBody TransactionRequestDTO requestDTO) {
-        log.debug("Withdraw request: accountId={}, request={}", accountId, requestDTO);
-        TransactionResponseDTO response = transactionService.withdraw(accountId, requestDTO);
+            @Valid @RequestBody TransactionRequestDTO requestDTO,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("Withdraw request: accountId={}, request={}, idempotencyKey={}", accountId, requestDTO, idempotencyKey);
+        TransactionResponseDTO response = transactionService.withdraw(accountId, requestDTO, idempotencyKey);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Transfer between accounts", description = "Moves funds from one bank account to another in the same currency. The debit and the credit are applied together or not at all.")
+    @PostMapping("/transfers")
+    public ResponseEntity<TransferResponseDTO> transfer(@Valid @RequestBody TransferRequestDTO requestDTO) {
+        log.debug("Transfer request: {}", requestDTO);
+        TransferResponseDTO response = transactionService.transfer(requestDTO);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Submit a batch of transactions", description = "Applies deposits and withdrawals across accounts in chunked database transactions and reports the outcome of every item.")
+    @PostMapping("/transactions/batch")
+    public ResponseEntity<BatchTransactionResponseDTO> submitBatch(
+            @Valid @RequestBody BatchTransactionRequestDTO requestDTO) {
+        log.debug("Batch request: {} items", requestDTO.getItems().size());
+        BatchTransactionResponseDTO response = transactionService.submitBatch(requestDTO.getItems());
         return ResponseEntity.ok(response);
     }
 
@@ -46,12 +85,38 @@ public class TransactionController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "List transactions for account", description = "Fetches all transactions for a bank account.")
+    @Operation(summary = "List transactions for account", description = "Fetches one page of a bank account's transactions, newest first. Pass the X-Next-Cursor header of a response as 'after' to fetch the next page. Responses carry an ETag; a matching If-None-Match is answered with 304 without reading the page.")
     @GetMapping("/accounts/{accountId}/transactions")
     public ResponseEntity<List<TransactionResponseDTO>> getTransactionsForAccount(
-            @PathVariable Long accountId) {
-        log.debug("List transactions: accountId={}", accountId);
-        List<TransactionResponseDTO> response = transactionService.getTransactionsForAccount(accountId);
-        return ResponseEntity.ok(response);
+            @PathVariable Long accountId,
+            @Valid TransactionHistoryRequestDTO query,
+            WebRequest request) {
+        log.debug("List transactions: accountId={}, query={}", accountId, query);
+        if (request.checkNotModified(transactionService.getTransactionHistoryETag(accountId))) {
+            return null;
+        }
+        CursorPage<TransactionResponseDTO> page = transactionService.getTransactionsForAccount(accountId, query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @Operation(summary = "Export transactions for account", description = "Streams a bank account's transactions, oldest first, as NDJSON or CSV. Optional 'from' (inclusive) and 'to' (exclusive) bound the time range.")
+    @GetMapping("/accounts/{accountId}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable Long accountId,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.debug("Export transactions: accountId={}, format={}, from={}, to={}", accountId, format, from, to);
+        transactionExportService.checkExportable(accountId, from, to);
+        StreamingResponseBody body = out -> transactionExportService.exportTransactions(accountId, from, to, format, out);
+        String filename = "account-" + accountId + "-transactions." + format.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
     }
-} 
\ No newline at end of file
+}
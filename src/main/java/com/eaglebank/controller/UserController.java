@@ -1,13 +1,25 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.mapper.UserMapper;
+import com.eaglebank.model.ExportFormat;
 import com.eaglebank.model.User;
+import com.eaglebank.model.dto.CursorPage;
+import com.eaglebank.model.dto.ImportResponseDTO;
+import com.eaglebank.model.dto.UserListRequestDTO;
 import com.eaglebank.model.dto.UserRequestDTO;
 import com.eaglebank.model.dto.UserResponseDTO;
+import com.eaglebank.service.BulkImportService;
+import com.eaglebank.service.UserExportService;
 import com.eaglebank.service.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -23,43 +35,71 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @RequestMapping("/v1/users")
 @Validated
 public class UserController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final BulkImportService bulkImportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserExportService userExportService, BulkImportService bulkImportService) {
         this.userService = userService;
+        this.userExportService = userExportService;
+        this.bulkImportService = bulkImportService;
     }
 
     @Operation(summary = "Create a new user", description = "Creates a new user with the provided details.")
     @PostMapping
     public ResponseEntity<UserResponseDTO> createUser(@Valid @RequestBody UserRequestDTO dto) {
         log.debug("Received UserRequestDTO: {}", dto);
-        User user = toUser(dto);
+        User user = UserMapper.toUser(dto);
         User savedUser = userService.saveUser(user);
-        return ResponseEntity.ok(toUserResponseDTO(savedUser));
+        return ResponseEntity.ok(UserMapper.toResponseDTO(savedUser));
     }
 
     @Operation(summary = "Update a user", description = "Updates an existing user by ID with the provided details.")
     @PutMapping("/{id}")
     public ResponseEntity<UserResponseDTO> updateUser(@PathVariable Long id, @Valid @RequestBody UserRequestDTO dto) {
         log.debug("Received UserRequestDTO for update: {}", dto);
-        User user = toUser(dto);
+        User user = UserMapper.toUser(dto);
         User updatedUser = userService.updateUser(id, user);
-        return ResponseEntity.ok(toUserResponseDTO(updatedUser));
+        return ResponseEntity.ok(UserMapper.toResponseDTO(updatedUser));
     }
 
     @Operation(summary = "Get a user by ID", description = "Fetches a user by their unique ID.")
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id);
-        return ResponseEntity.ok(toUserResponseDTO(user));
+        return ResponseEntity.ok(userService.getUserById(id));
     }
 
-    @Operation(summary = "Get all users", description = "Fetches a list of all users.")
+    @Operation(summary = "List users", description = "Fetches one page of users in id order. Pass the X-Next-Cursor header of a response as 'after' to fetch the next page.")
     @GetMapping
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        List<UserResponseDTO> response = users.stream().map(this::toUserResponseDTO).toList();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<UserResponseDTO>> getUsers(@Valid UserListRequestDTO query) {
+        CursorPage<UserResponseDTO> page = userService.getUsers(query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @Operation(summary = "Export users", description = "Streams every user, in id order, as NDJSON or CSV.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> userExportService.exportUsers(format, out);
+        return ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.name().toLowerCase() + "\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Import users", description = "Creates one user per NDJSON line or CSV record, committing in chunks. Returns counts and the rows that were rejected.")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportResponseDTO> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                         InputStream body) throws IOException {
+        ExportFormat format = TEXT_CSV.isCompatibleWith(contentType) ? ExportFormat.CSV : ExportFormat.NDJSON;
+        return ResponseEntity.ok(bulkImportService.importUsers(format, body));
     }
 
     @Operation(summary = "Delete a user", description = "Deletes a user by their unique ID.")
@@ -68,27 +108,4 @@ public class UserController {
         userService.deleteUserById(id);
         return ResponseEntity.noContent().build();
     }
-
-    private User toUser(UserRequestDTO dto) {
-        return User.builder()
-                .firstName(dto.getFirstName())
-                .lastName(dto.getLastName())
-                .email(dto.getEmail())
-                .phoneNumber(dto.getPhoneNumber())
-                .address(dto.getAddress())
-                .dateOfBirth(dto.getDateOfBirth())
-                .build();
-    }
-
-    private UserResponseDTO toUserResponseDTO(User user) {
-        return UserResponseDTO.builder()
-                .id(user.getId())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .email(user.getEmail())
-                .phoneNumber(user.getPhoneNumber())
-                .address(user.getAddress())
-                .dateOfBirth(user.getDateOfBirth())
-                .build();
-    }
-} 
\ No newline at end of file
+}
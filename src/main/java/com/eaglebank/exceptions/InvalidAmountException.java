@@ -0,0 +1,11 @@
+package com.eaglebank.exceptions;
+
+/**
+ * An amount that cannot be represented exactly in the account's currency,
+ * or a result that would overflow.
+ */
+public class InvalidAmountException extends BadRequestException {
+    public InvalidAmountException(String message) {
+        super(message);
+    }
+}
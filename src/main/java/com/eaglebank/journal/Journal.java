@@ -0,0 +1,357 @@
+package com.eaglebank.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of {@link JournalEvent}s in memory-mapped segment files.
+ * <p>
+ * Each record is {@code [payload length][CRC32C of payload][payload]}, and a zero length marks
+ * the end of the written part of a segment. A segment is named after the sequence number of its
+ * first event and is replaced by a new one when the next record does not fit.
+ * <p>
+ * Appending only copies bytes into the mapping. A single flusher thread forces everything
+ * appended so far to disk and then wakes every writer the force covered, so writers that
+ * append while a force is running share the next one (group commit). On open, the first record
+ * that is truncated or fails its checksum is the torn tail of a crash: it and everything after
+ * it are zeroed and overwritten by the next append.
+ */
+@Slf4j
+public class Journal implements Closeable {
+    private static final int HEADER_BYTES = 8;
+    private static final String SUFFIX = ".log";
+    private static final byte[] ZEROS = new byte[64 * 1024];
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long groupCommitDelayNanos;
+    private final Consumer<JournalEvent> onAppend;
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long lastSequence;
+
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition appended = durableLock.newCondition();
+    private final Condition durable = durableLock.newCondition();
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+    private volatile IOException failure;
+    private volatile boolean closed;
+    private volatile boolean stopped;
+
+    private final Thread flusher;
+    private MappedByteBuffer forcedBuffer;
+    private int forcedPosition;
+
+    /**
+     * Opens the journal in {@code directory}, creating it if needed, and starts the flusher.
+     *
+     * @param minimumSequence sequence numbers continue after this one even if the segments
+     *                        holding it have been deleted
+     * @param onAppend        called with every appended event, in sequence order, while the
+     *                        append lock is held
+     */
+    public Journal(Path directory, int segmentBytes, Duration groupCommitDelay, long minimumSequence,
+                   Consumer<JournalEvent> onAppend) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.groupCommitDelayNanos = groupCommitDelay.toNanos();
+        this.onAppend = onAppend;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .forEach(file -> segments.put(firstSequenceOf(file), file));
+        }
+        if (segments.isEmpty()) {
+            lastSequence = minimumSequence;
+            openSegment(lastSequence + 1);
+        } else {
+            Map.Entry<Long, Path> tail = segments.lastEntry();
+            buffer = map(tail.getValue(), Math.max(segmentBytes, (int) Files.size(tail.getValue())));
+            long[] last = {tail.getKey() - 1};
+            writePosition = scan(buffer, event -> last[0] = event.sequence());
+            lastSequence = Math.max(last[0], minimumSequence);
+            zero(buffer, writePosition);
+        }
+        appendedSequence = lastSequence;
+        durableSequence = lastSequence;
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Journal opened in {} with {} segment(s), last sequence {}", directory, segments.size(), lastSequence);
+    }
+
+    /**
+     * Reads every intact event with a sequence number above {@code afterSequence}, oldest first.
+     */
+    public void replay(long afterSequence, Consumer<JournalEvent> consumer) throws IOException {
+        for (Path segment : List.copyOf(segments.values())) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), event -> {
+                    if (event.sequence() > afterSequence) {
+                        consumer.accept(event);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Assigns the next sequence number and writes the event. The event is not durable until
+     * {@link #awaitDurable} returns for its sequence number.
+     */
+    public JournalEvent append(JournalEvent event) {
+        JournalEvent sequenced;
+        appendLock.lock();
+        try {
+            if (closed || failure != null) {
+                throw new IllegalStateException("Journal is closed", failure);
+            }
+            sequenced = event.withSequence(lastSequence + 1);
+            byte[] payload = sequenced.encode();
+            int recordBytes = HEADER_BYTES + payload.length;
+            if (writePosition + recordBytes > buffer.capacity()) {
+                rollTo(sequenced.sequence());
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            buffer.put(writePosition + HEADER_BYTES, payload);
+            buffer.putInt(writePosition + 4, (int) crc.getValue());
+            buffer.putInt(writePosition, payload.length);
+            writePosition += recordBytes;
+            lastSequence = sequenced.sequence();
+            appendedSequence = lastSequence;
+            onAppend.accept(sequenced);
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException("Could not roll journal segment", e);
+        } finally {
+            appendLock.unlock();
+        }
+        durableLock.lock();
+        try {
+            appended.signal();
+        } finally {
+            durableLock.unlock();
+        }
+        return sequenced;
+    }
+
+    /**
+     * Blocks until every event up to {@code sequence} has been forced to disk.
+     */
+    public void awaitDurable(long sequence) {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        durableLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (stopped) {
+                    throw new IllegalStateException("Journal stopped before event " + sequence + " was durable", failure);
+                }
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    public long getAppendedSequence() {
+        return appendedSequence;
+    }
+
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Deletes the segments whose events all have a sequence number of at most {@code sequence}.
+     * The segment being written to is always kept.
+     */
+    public void release(long sequence) {
+        Long current = segments.lastKey();
+        for (Map.Entry<Long, Path> entry : segments.headMap(current, false).entrySet()) {
+            Long next = segments.higherKey(entry.getKey());
+            if (next == null || next - 1 > sequence) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.getValue());
+                segments.remove(entry.getKey());
+            } catch (IOException e) {
+                log.warn("Could not delete journal segment {}", entry.getValue(), e);
+                break;
+            }
+        }
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Forces what has been appended, stops the flusher and rejects further appends.
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        durableLock.lock();
+        try {
+            appended.signal();
+        } finally {
+            durableLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            durableLock.lock();
+            try {
+                while (appendedSequence == durableSequence && !closed) {
+                    appended.awaitUninterruptibly();
+                }
+                if (appendedSequence == durableSequence) {
+                    stopped = true;
+                    durable.signalAll();
+                    return;
+                }
+            } finally {
+                durableLock.unlock();
+            }
+            if (groupCommitDelayNanos > 0) {
+                LockSupport.parkNanos(groupCommitDelayNanos);
+            }
+            MappedByteBuffer target;
+            int end;
+            long sequence;
+            appendLock.lock();
+            try {
+                target = buffer;
+                end = writePosition;
+                sequence = lastSequence;
+            } finally {
+                appendLock.unlock();
+            }
+            int start = target == forcedBuffer ? forcedPosition : 0;
+            try {
+                target.force(start, end - start);
+            } catch (UncheckedIOException e) {
+                log.error("Journal force failed; rejecting further appends", e);
+                durableLock.lock();
+                try {
+                    failure = e.getCause();
+                    stopped = true;
+                    durable.signalAll();
+                } finally {
+                    durableLock.unlock();
+                }
+                return;
+            }
+            forcedBuffer = target;
+            forcedPosition = end;
+            durableLock.lock();
+            try {
+                durableSequence = sequence;
+                durable.signalAll();
+            } finally {
+                durableLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Called with the append lock held. The full segment is forced here rather than by the
+     * flusher, which only tracks the current one.
+     */
+    private void rollTo(long firstSequence) throws IOException {
+        buffer.force();
+        openSegment(firstSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path segment = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        buffer = map(segment, segmentBytes);
+        writePosition = 0;
+        segments.put(firstSequence, segment);
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync journal directory {}", directory, e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path segment, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Reads records from the start of a segment and returns the position after the last intact one.
+     */
+    private static int scan(ByteBuffer data, Consumer<JournalEvent> consumer) {
+        int position = 0;
+        CRC32C crc = new CRC32C();
+        while (position + HEADER_BYTES <= data.limit()) {
+            int length = data.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > data.limit()) {
+                break;
+            }
+            ByteBuffer payload = data.slice(position + HEADER_BYTES, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != data.getInt(position + 4)) {
+                break;
+            }
+            consumer.accept(JournalEvent.decode(payload));
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static void zero(MappedByteBuffer data, int from) {
+        for (int position = from; position < data.capacity(); position += ZEROS.length) {
+            data.put(position, ZEROS, 0, Math.min(ZEROS.length, data.capacity() - position));
+        }
+        data.force();
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+}
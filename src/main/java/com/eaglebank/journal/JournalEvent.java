@@ -0,0 +1,85 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.model.TransactionType;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One balance change as written to the journal: the transaction row it becomes, plus the
+ * amount in minor units so replaying it needs no decimal parsing.
+ */
+public record JournalEvent(long sequence, long transactionId, long accountId, TransactionType type,
+                           long amountMinorUnits, int scale, LocalDateTime timestamp,
+                           String description, String idempotencyKey) {
+
+    JournalEvent withSequence(long sequence) {
+        return new JournalEvent(sequence, transactionId, accountId, type, amountMinorUnits, scale, timestamp,
+                description, idempotencyKey);
+    }
+
+    /**
+     * The change this event makes to the account balance, in minor units.
+     */
+    public long balanceDelta() {
+        return type.isDebit() ? -amountMinorUnits : amountMinorUnits;
+    }
+
+    byte[] encode() {
+        byte[] descriptionBytes = bytes(description);
+        byte[] keyBytes = bytes(idempotencyKey);
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 8 + 8 + 1 + 8 + 1 + 8 + 4
+                + 2 + length(descriptionBytes) + 2 + length(keyBytes));
+        buffer.putLong(sequence)
+                .putLong(transactionId)
+                .putLong(accountId)
+                .put((byte) type.ordinal())
+                .putLong(amountMinorUnits)
+                .put((byte) scale)
+                .putLong(timestamp.toEpochSecond(ZoneOffset.UTC))
+                .putInt(timestamp.getNano());
+        putString(buffer, descriptionBytes);
+        putString(buffer, keyBytes);
+        return buffer.array();
+    }
+
+    static JournalEvent decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        long transactionId = buffer.getLong();
+        long accountId = buffer.getLong();
+        TransactionType type = TransactionType.values()[buffer.get()];
+        long amount = buffer.getLong();
+        int scale = buffer.get();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        String description = getString(buffer);
+        String idempotencyKey = getString(buffer);
+        return new JournalEvent(sequence, transactionId, accountId, type, amount, scale, timestamp, description, idempotencyKey);
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,411 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.exceptions.NotFoundException;
+import com.eaglebank.exceptions.ServiceUnavailableException;
+import com.eaglebank.mapper.TransactionMapper;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Money;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.service.CacheInvalidator;
+import com.eaglebank.service.IdempotencyStore;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal mode for deposits and withdrawals, enabled with {@code eaglebank.journal.enabled}.
+ * <p>
+ * A mutation is acknowledged once its {@link JournalEvent} is durable in the {@link Journal}.
+ * The balance it was checked against is kept here in memory, and is only correct because every
+ * change to a journaled account goes through its ledger lane. A projector thread then writes
+ * durable events to {@code transactions} and {@code bank_accounts} in batches, recording the
+ * last projected sequence number in {@code journal_checkpoint} in the same database transaction.
+ * On startup, events after the checkpoint are projected before any request is served, so
+ * balances and history read from the database catch up with the journal but may briefly lag it.
+ * <p>
+ * A batch that cannot be written is retried with backoff and the checkpoint never moves past it.
+ * While it keeps failing, appends are rejected and {@link TransactionJournalHealthIndicator}
+ * reports DOWN, so acknowledged events cannot pile up behind a projector that is not writing them.
+ * <p>
+ * An idempotency key is reserved across all lanes from before its append until its row is
+ * projected; the projector then hands the response to the {@link IdempotencyStore} before
+ * releasing the key. An event whose key is already in {@code transactions} anyway, e.g. reused
+ * after it left the store, is projected as a replay: no row, no balance change.
+ */
+@Slf4j
+@Component
+public class TransactionJournal implements InitializingBean, DisposableBean {
+    private static final String INSERT_TRANSACTION = "insert into transactions "
+            + "(id, bank_account_id, amount, type, status, description, timestamp, idempotency_key) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_BALANCE = "update bank_accounts set balance = balance + ?, updated_at = ?, "
+            + "ledger_version = ledger_version + ?, version = version + 1 where id = ?";
+
+    private final EagleBankProperties.Journal config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BankAccountRepository bankAccountRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidator cacheInvalidator;
+    private final IdempotencyStore idempotencyStore;
+
+    private final Map<Long, Money> balances = new ConcurrentHashMap<>();
+    /**
+     * Idempotency keys from reservation until projected, completed with their event once appended.
+     */
+    private final Map<String, CompletableFuture<JournalEvent>> unprojectedKeys = new ConcurrentHashMap<>();
+    private final BlockingQueue<JournalEvent> unprojected = new LinkedBlockingQueue<>();
+    private SessionFactoryImplementor sessionFactory;
+    private BeforeExecutionGenerator transactionIds;
+    private Journal journal;
+    private Thread projector;
+    private volatile boolean running;
+    private volatile long projectedSequence;
+    private volatile RuntimeException projectionFailure;
+
+    public TransactionJournal(EagleBankProperties properties, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              BankAccountRepository bankAccountRepository, EntityManagerFactory entityManagerFactory,
+                              CacheInvalidator cacheInvalidator, IdempotencyStore idempotencyStore) {
+        this.config = properties.getJournal();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.bankAccountRepository = bankAccountRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheInvalidator = cacheInvalidator;
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        transactionIds = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Transaction.class).getGenerator();
+        long checkpoint = readCheckpoint();
+        journal = new Journal(Path.of(config.getDirectory()), (int) config.getSegmentSize().toBytes(),
+                config.getGroupCommitDelay(), checkpoint, unprojected::add);
+        recover(checkpoint);
+        running = true;
+        projector = new Thread(this::projectLoop, "journal-projector");
+        projector.setDaemon(true);
+        projector.start();
+    }
+
+    /**
+     * The account's balance including journaled events that are not projected yet.
+     * Call on the account's ledger lane.
+     */
+    public Money balanceOf(Long accountId) {
+        Money balance = balances.get(accountId);
+        if (balance == null) {
+            BankAccount account = bankAccountRepository.findById(accountId)
+                    .orElseThrow(() -> new NotFoundException("Bank account not found"));
+            balance = Money.of(account.getBalance(), Money.scaleOf(account.getCurrency()));
+            balances.put(accountId, balance);
+        }
+        return balance;
+    }
+
+    /**
+     * Reserves the idempotency key for one append. Returns null when the caller now holds it,
+     * otherwise the reservation of the request already holding it, which completes with that
+     * request's event or, if it ends without appending, exceptionally.
+     */
+    public CompletableFuture<JournalEvent> reserve(String idempotencyKey) {
+        return unprojectedKeys.putIfAbsent(idempotencyKey, new CompletableFuture<>());
+    }
+
+    /**
+     * Gives up a reservation that did not lead to an append; a no-op once the event is appended.
+     */
+    public void release(String idempotencyKey) {
+        CompletableFuture<JournalEvent> reservation = unprojectedKeys.get(idempotencyKey);
+        if (reservation != null && reservation.cancel(false)) {
+            unprojectedKeys.remove(idempotencyKey, reservation);
+        }
+    }
+
+    /**
+     * Appends the mutation and applies it to the in-memory balance. Call on the account's ledger
+     * lane, after reserving its idempotency key if it has one, then wait for {@link #awaitDurable}
+     * off the lane.
+     */
+    public JournalEvent append(Long accountId, TransactionType type, Money amount, String description, String idempotencyKey) {
+        if (projectionFailure != null) {
+            throw new ServiceUnavailableException("Transactions are temporarily unavailable, please retry");
+        }
+        JournalEvent event = journal.append(new JournalEvent(0, nextTransactionId(), accountId, type,
+                amount.getMinorUnits(), amount.getScale(), LocalDateTime.now(), description, idempotencyKey));
+        balances.computeIfPresent(accountId, (id, balance) -> balance.plus(Money.ofMinor(event.balanceDelta(), event.scale())));
+        if (idempotencyKey != null) {
+            unprojectedKeys.get(idempotencyKey).complete(event);
+        }
+        return event;
+    }
+
+    /**
+     * Drops in-memory balances so they are reloaded from the database, after something other
+     * than the journal has written them. Only correct once their events have been projected.
+     */
+    public void forget(Collection<Long> accountIds) {
+        accountIds.forEach(balances::remove);
+    }
+
+    public void awaitDurable(JournalEvent event) {
+        journal.awaitDurable(event.sequence());
+    }
+
+    /**
+     * Blocks until every event appended so far has been written to the database.
+     */
+    public void awaitProjected() throws InterruptedException {
+        while (projectedSequence < journal.getAppendedSequence()) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    /**
+     * The error the projector keeps failing with, or null while it is keeping up.
+     */
+    public RuntimeException getProjectionFailure() {
+        return projectionFailure;
+    }
+
+    public long getAppendedSequence() {
+        return journal.getAppendedSequence();
+    }
+
+    public long getProjectedSequence() {
+        return projectedSequence;
+    }
+
+    /**
+     * Ids come from the same pooled sequence Hibernate uses for transaction rows, mostly from memory.
+     */
+    private long nextTransactionId() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) transactionIds.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT);
+        }
+    }
+
+    private long readCheckpoint() {
+        jdbcTemplate.execute("create table if not exists journal_checkpoint (id int primary key, projected_sequence bigint not null)");
+        if (jdbcTemplate.queryForList("select id from journal_checkpoint where id = 1", Integer.class).isEmpty()) {
+            jdbcTemplate.update("insert into journal_checkpoint (id, projected_sequence) values (1, 0)");
+        }
+        projectedSequence = jdbcTemplate.queryForObject("select projected_sequence from journal_checkpoint where id = 1", Long.class);
+        return projectedSequence;
+    }
+
+    private void recover(long checkpoint) throws IOException {
+        List<JournalEvent> pending = new ArrayList<>();
+        journal.replay(checkpoint, pending::add);
+        for (int from = 0; from < pending.size(); from += config.getProjectorBatchSize()) {
+            project(pending.subList(from, Math.min(pending.size(), from + config.getProjectorBatchSize())));
+        }
+        if (!pending.isEmpty()) {
+            log.info("Recovered {} journal event(s) after sequence {}", pending.size(), checkpoint);
+        }
+    }
+
+    private void projectLoop() {
+        List<JournalEvent> batch = new ArrayList<>(config.getProjectorBatchSize());
+        while (running || !unprojected.isEmpty()) {
+            try {
+                JournalEvent first = unprojected.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                unprojected.drainTo(batch, config.getProjectorBatchSize() - 1);
+                journal.awaitDurable(batch.get(batch.size() - 1).sequence());
+                if (!projectWithRetry(batch)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IllegalStateException e) {
+                projectionFailure = e;
+                log.error("Journal stopped; projector stopped with events still to write", e);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Retries the batch until it is written, backing off between attempts. Later batches wait
+     * behind it, since the checkpoint only ever covers a prefix of the journal. Returns false
+     * if the application is shutting down first; the batch is then projected on the next start.
+     */
+    private boolean projectWithRetry(List<JournalEvent> events) throws InterruptedException {
+        Duration backoff = config.getProjectorRetryBackoff();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                project(events);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt == config.getProjectorFailureThreshold()) {
+                    log.error("Projecting journal events from {} failed {} times; rejecting appends until it succeeds",
+                            events.get(0).sequence(), attempt, e);
+                    projectionFailure = e;
+                } else {
+                    log.warn("Projecting journal events from {} failed (attempt {}), retrying in {}",
+                            events.get(0).sequence(), attempt, backoff, e);
+                }
+                if (!running) {
+                    log.error("Shutting down with journal events from {} not projected; they are recovered on restart",
+                            events.get(0).sequence());
+                    return false;
+                }
+                TimeUnit.MILLISECONDS.sleep(backoff.toMillis());
+                backoff = backoff.multipliedBy(2).compareTo(config.getProjectorMaxBackoff()) > 0
+                        ? config.getProjectorMaxBackoff() : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    /**
+     * Writes the events in one database transaction, with one balance UPDATE per account.
+     */
+    private void project(List<JournalEvent> events) {
+        Set<JournalEvent> replays = transactionTemplate.execute(status -> write(events));
+        if (projectionFailure != null) {
+            log.info("Journal projection resumed at sequence {}", events.get(0).sequence());
+            projectionFailure = null;
+        }
+        for (JournalEvent replay : replays) {
+            log.warn("Journal event {} reused idempotency key {}; projected without a row or balance change",
+                    replay.sequence(), replay.idempotencyKey());
+            balances.computeIfPresent(replay.accountId(), (id, balance) -> balance.minus(Money.ofMinor(replay.balanceDelta(), replay.scale())));
+        }
+        for (JournalEvent event : events) {
+            if (event.idempotencyKey() != null) {
+                if (!replays.contains(event)) {
+                    idempotencyStore.put(event.idempotencyKey(), TransactionMapper.toResponseDTO(event));
+                }
+                unprojectedKeys.remove(event.idempotencyKey());
+            }
+        }
+        long last = events.get(events.size() - 1).sequence();
+        projectedSequence = last;
+        cacheInvalidator.evictBankAccounts(events.stream().map(JournalEvent::accountId).distinct().toList());
+        journal.release(last);
+    }
+
+    /**
+     * Returns the events skipped as replays because their idempotency key is already taken,
+     * by an earlier row or by an earlier event in the batch.
+     */
+    private Set<JournalEvent> write(List<JournalEvent> events) {
+        Set<String> takenKeys = takenKeys(events);
+        Set<JournalEvent> replays = new HashSet<>();
+        List<JournalEvent> applied = new ArrayList<>(events.size());
+        for (JournalEvent event : events) {
+            if (event.idempotencyKey() != null && !takenKeys.add(event.idempotencyKey())) {
+                replays.add(event);
+            } else {
+                applied.add(event);
+            }
+        }
+        if (!applied.isEmpty()) {
+            insert(applied);
+        }
+        saveCheckpoint(events.get(events.size() - 1).sequence());
+        return replays;
+    }
+
+    private Set<String> takenKeys(List<JournalEvent> events) {
+        List<String> keys = events.stream().map(JournalEvent::idempotencyKey).filter(Objects::nonNull).distinct().toList();
+        if (keys.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("select idempotency_key from transactions where idempotency_key in ("
+                + String.join(", ", Collections.nCopies(keys.size(), "?")) + ")", String.class, keys.toArray()));
+    }
+
+    private void insert(List<JournalEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, events, events.size(), (statement, event) -> {
+            statement.setLong(1, event.transactionId());
+            statement.setLong(2, event.accountId());
+            statement.setBigDecimal(3, BigDecimal.valueOf(event.amountMinorUnits(), event.scale()));
+            statement.setString(4, event.type().name());
+            statement.setString(5, TransactionStatus.COMPLETED.name());
+            statement.setString(6, event.description());
+            statement.setTimestamp(7, Timestamp.valueOf(event.timestamp()));
+            statement.setString(8, event.idempotencyKey());
+        });
+        Map<Long, JournalEvent> lastByAccount = new LinkedHashMap<>();
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        Map<Long, Integer> rows = new LinkedHashMap<>();
+        for (JournalEvent event : events) {
+            deltas.merge(event.accountId(), event.balanceDelta(), Math::addExact);
+            rows.merge(event.accountId(), 1, Integer::sum);
+            lastByAccount.put(event.accountId(), event);
+        }
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> updates.add(new Object[] {
+                BigDecimal.valueOf(delta, lastByAccount.get(accountId).scale()), now, rows.get(accountId), accountId}));
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, updates);
+    }
+
+    private void saveCheckpoint(long sequence) {
+        jdbcTemplate.update("update journal_checkpoint set projected_sequence = ? where id = 1 and projected_sequence < ?",
+                sequence, sequence);
+    }
+
+    /**
+     * Closing the journal forces what is left; the projector then drains its queue.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (journal == null) {
+            return;
+        }
+        journal.close();
+        running = false;
+        projector.join(TimeUnit.SECONDS.toMillis(30));
+    }
+}
@@ -0,0 +1,29 @@
+package com.eaglebank.journal;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * DOWN while the projector cannot write journaled events to the database and appends are rejected.
+ */
+@Component
+public class TransactionJournalHealthIndicator implements HealthIndicator {
+    private final TransactionJournal transactionJournal;
+
+    public TransactionJournalHealthIndicator(TransactionJournal transactionJournal) {
+        this.transactionJournal = transactionJournal;
+    }
+
+    @Override
+    public Health health() {
+        if (!transactionJournal.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        RuntimeException failure = transactionJournal.getProjectionFailure();
+        Health.Builder health = failure != null ? Health.down(failure) : Health.up();
+        return health.withDetail("appendedSequence", transactionJournal.getAppendedSequence())
+                .withDetail("projectedSequence", transactionJournal.getProjectedSequence())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.eaglebank.mapper;
+
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.BankAccountRequestDTO;
+import com.eaglebank.model.dto.BankAccountResponseDTO;
+
+public final class BankAccountMapper {
+    private BankAccountMapper() {
+    }
+
+    public static BankAccountResponseDTO toResponseDTO(BankAccount account) {
+        return BankAccountResponseDTO.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .userId(account.getUser().getId())
+                .type(account.getType())
+                .balance(account.getBalance())
+                .currency(account.getCurrency())
+                .status(account.getStatus())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt())
+                .version(account.getVersion())
+                .build();
+    }
+
+    /**
+     * Weak ETag of the account representation. Weak because the same version is served as JSON,
+     * CBOR or Smile, and gzipped or not.
+     */
+    public static String toETag(BankAccountResponseDTO account) {
+        return "W/\"" + account.getId() + "-" + account.getVersion() + "\"";
+    }
+
+    public static BankAccount toBankAccount(BankAccountRequestDTO dto, User user) {
+        return BankAccount.builder()
+                .accountNumber(dto.getAccountNumber())
+                .user(user)
+                .type(dto.getType())
+                .balance(dto.getBalance())
+                .currency(dto.getCurrency())
+                .status(dto.getStatus())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.eaglebank.mapper;
+
+import com.eaglebank.journal.JournalEvent;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import java.math.BigDecimal;
+
+public final class TransactionMapper {
+    private TransactionMapper() {
+    }
+
+    public static TransactionResponseDTO toResponseDTO(Transaction transaction) {
+        return new TransactionResponseDTO(
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getType(),
+                transaction.getStatus(),
+                transaction.getDescription(),
+                transaction.getTimestamp(),
+                transaction.getBankAccount().getId()
+        );
+    }
+
+    public static TransactionResponseDTO toResponseDTO(JournalEvent event) {
+        return new TransactionResponseDTO(
+                event.transactionId(),
+                BigDecimal.valueOf(event.amountMinorUnits(), event.scale()),
+                event.type(),
+                TransactionStatus.COMPLETED,
+                event.description(),
+                event.timestamp(),
+                event.accountId()
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.eaglebank.mapper;
+
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.UserRequestDTO;
+import com.eaglebank.model.dto.UserResponseDTO;
+
+public final class UserMapper {
+    private UserMapper() {
+    }
+
+    public static User toUser(UserRequestDTO dto) {
+        return User.builder()
+                .firstName(dto.getFirstName())
+                .lastName(dto.getLastName())
+                .email(dto.getEmail())
+                .phoneNumber(dto.getPhoneNumber())
+                .address(dto.getAddress())
+                .dateOfBirth(dto.getDateOfBirth())
+                .build();
+    }
+
+    public static UserResponseDTO toResponseDTO(User user) {
+        return UserResponseDTO.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .address(user.getAddress())
+                .dateOfBirth(user.getDateOfBirth())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.eaglebank.metrics;
+
+import com.eaglebank.model.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the transaction hot paths. Every meter is registered once at startup, and
+ * recording picks one from a field or an {@link EnumMap}. Recording never builds tags or
+ * looks anything up in the registry.
+ */
+@Component
+public class BankingMetrics {
+    public enum Operation {
+        DEPOSIT, WITHDRAW, TRANSFER, LOOKUP, HISTORY
+    }
+
+    private final Map<Operation, Timer> succeeded = new EnumMap<>(Operation.class);
+    private final Map<Operation, Timer> failed = new EnumMap<>(Operation.class);
+    private final Map<TransactionType, Counter> completed = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Counter> amount = new EnumMap<>(TransactionType.class);
+    private final Counter insufficientFunds;
+    private final Counter notFound;
+    private final Counter idempotentReplays;
+
+    public BankingMetrics(MeterRegistry registry) {
+        for (Operation operation : Operation.values()) {
+            succeeded.put(operation, timer(registry, operation, "success"));
+            failed.put(operation, timer(registry, operation, "error"));
+        }
+        for (TransactionType type : TransactionType.values()) {
+            String tag = type.name().toLowerCase();
+            completed.put(type, Counter.builder("eaglebank.transactions.completed")
+                    .description("Completed transactions")
+                    .tag("type", tag)
+                    .register(registry));
+            amount.put(type, Counter.builder("eaglebank.transactions.amount")
+                    .description("Sum of completed transaction amounts")
+                    .tag("type", tag)
+                    .register(registry));
+        }
+        insufficientFunds = Counter.builder("eaglebank.transactions.insufficient.funds")
+                .description("Withdrawals rejected for insufficient funds")
+                .register(registry);
+        idempotentReplays = Counter.builder("eaglebank.transactions.idempotent.replays")
+                .description("Repeated requests answered with the original transaction")
+                .register(registry);
+        notFound = Counter.builder("eaglebank.errors.not.found")
+                .description("Requests answered with 404")
+                .register(registry);
+    }
+
+    /**
+     * Records the time since {@code startNanos}, a {@link System#nanoTime()} reading.
+     */
+    public void record(Operation operation, long startNanos, boolean success) {
+        (success ? succeeded : failed).get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCompleted(TransactionType type, BigDecimal value) {
+        completed.get(type).increment();
+        amount.get(type).increment(value.doubleValue());
+    }
+
+    public void recordInsufficientFunds() {
+        insufficientFunds.increment();
+    }
+
+    public void recordIdempotentReplay() {
+        idempotentReplays.increment();
+    }
+
+    public void recordNotFound() {
+        notFound.increment();
+    }
+
+    private static Timer timer(MeterRegistry registry, Operation operation, String outcome) {
+        return Timer.builder("eaglebank.transactions.latency")
+                .description("Latency of transaction operations")
+                .tag("operation", operation.name().toLowerCase())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -1,19 +1,23 @@
 package com.eaglebank.model;
 
+import com.eaglebank.config.EntityCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bank_accounts")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.BANK_ACCOUNTS_REGION)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class BankAccount {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "bank_accounts_seq")
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -32,9 +36,15 @@ public class BankAccount {
     @Column(nullable = false)
     private AccountType type;
 
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = Money.MAX_SCALE)
     private BigDecimal balance;
 
+    /**
+     * Balance the account was opened with. Rebuilding the balance from the ledger starts here.
+     */
+    @Column(name = "opening_balance", updatable = false, precision = 19, scale = Money.MAX_SCALE)
+    private BigDecimal openingBalance;
+
     @Column(nullable = false, length = 3)
     private String currency;
 
@@ -48,13 +58,41 @@ public class BankAccount {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Bumped in the same database transaction as every ledger row written for the account, so the
+     * transaction history can be versioned from this row alone. A rejected single withdrawal rolls
+     * back with its FAILED row and leaves it alone; the FAILED rows a batch keeps bump it.
+     */
+    @Column(nullable = false)
+    private long ledgerVersion;
+
+    /**
+     * Decimal places of {@link #currency}, kept on the row so a conditional UPDATE can reject an
+     * amount the currency cannot hold without reading the account first. Follows the currency.
+     */
+    @Column(nullable = false)
+    private int currencyScale;
+
+    /**
+     * Bumped by every change to the row, including the balance UPDATEs that bypass the entity;
+     * the account's ETag is built from it.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = this.updatedAt = LocalDateTime.now();
+        if (this.openingBalance == null) {
+            this.openingBalance = this.balance;
+        }
+        this.currencyScale = Money.scaleOf(this.currency);
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.currencyScale = Money.scaleOf(this.currency);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.eaglebank.model;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,145 @@
+package com.eaglebank.model;
+
+import com.eaglebank.exceptions.InvalidAmountException;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * An amount of money held as a {@code long} count of minor units (pence for GBP) together with the
+ * currency's number of decimal places.
+ * <p>
+ * Rules:
+ * <ul>
+ *     <li>No rounding. Converting a {@link BigDecimal} with more decimal places than the currency
+ *     allows is rejected, so 10.005 GBP is an error rather than 10.00 or 10.01.</li>
+ *     <li>No wrap-around. Arithmetic that would leave the {@code long} range is rejected.</li>
+ *     <li>Both cases throw {@link InvalidAmountException}. Mixing scales is a programming error
+ *     and throws {@link IllegalArgumentException}.</li>
+ * </ul>
+ * Entities and DTOs keep {@link BigDecimal}; convert with {@link #of} and {@link #toBigDecimal()}
+ * where a value enters or leaves the ledger arithmetic.
+ */
+public final class Money implements Comparable<Money> {
+    /**
+     * Decimal places of the {@code balance} and {@code amount} columns. Currencies with more
+     * minor-unit digits cannot be stored exactly and are rejected.
+     */
+    public static final int MAX_SCALE = 2;
+
+    private final long minorUnits;
+    private final int scale;
+
+    private Money(long minorUnits, int scale) {
+        this.minorUnits = minorUnits;
+        this.scale = scale;
+    }
+
+    /**
+     * Decimal places of the ISO 4217 currency, e.g. 2 for GBP and 0 for JPY. Currencies with more
+     * than {@link #MAX_SCALE}, such as KWD, are unsupported.
+     */
+    public static int scaleOf(String currencyCode) {
+        int digits;
+        try {
+            digits = Currency.getInstance(currencyCode).getDefaultFractionDigits();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidAmountException("Unsupported currency: " + currencyCode);
+        }
+        if (digits < 0) {
+            throw new InvalidAmountException("Currency has no minor unit: " + currencyCode);
+        }
+        if (digits > MAX_SCALE) {
+            throw new InvalidAmountException("Unsupported currency: " + currencyCode + " has " + digits
+                    + " decimal places, at most " + MAX_SCALE + " are stored");
+        }
+        return digits;
+    }
+
+    /**
+     * Decimal places the amount needs, ignoring trailing zeros: 2 for 10.50, 0 for 10.00.
+     */
+    public static int decimalPlaces(BigDecimal amount) {
+        return Math.max(0, amount.stripTrailingZeros().scale());
+    }
+
+    public static Money ofMinor(long minorUnits, int scale) {
+        return new Money(minorUnits, scale);
+    }
+
+    /**
+     * Exact conversion; trailing zeros beyond the scale are fine, other extra digits are not.
+     */
+    public static Money of(BigDecimal amount, int scale) {
+        try {
+            return new Money(amount.scaleByPowerOfTen(scale).longValueExact(), scale);
+        } catch (ArithmeticException e) {
+            throw new InvalidAmountException("Amount " + amount.toPlainString() + " cannot be represented with "
+                    + scale + " decimal places");
+        }
+    }
+
+    public Money plus(Money other) {
+        checkScale(other);
+        try {
+            return new Money(Math.addExact(minorUnits, other.minorUnits), scale);
+        } catch (ArithmeticException e) {
+            throw new InvalidAmountException("Amount out of range");
+        }
+    }
+
+    public Money minus(Money other) {
+        checkScale(other);
+        try {
+            return new Money(Math.subtractExact(minorUnits, other.minorUnits), scale);
+        } catch (ArithmeticException e) {
+            throw new InvalidAmountException("Amount out of range");
+        }
+    }
+
+    public boolean isLessThan(Money other) {
+        return compareTo(other) < 0;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkScale(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits && scale == other.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + scale;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private void checkScale(Money other) {
+        if (scale != other.scale) {
+            throw new IllegalArgumentException("Cannot combine amounts with " + scale + " and " + other.scale + " decimal places");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.eaglebank.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates ids from a database sequence, handing them out from memory in blocks of
+ * {@code eaglebank.id.block-size}. Unlike IDENTITY, this lets Hibernate delay and batch inserts.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+    /**
+     * Name of the database sequence.
+     */
+    String name();
+}
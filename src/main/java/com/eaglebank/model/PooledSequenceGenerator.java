@@ -0,0 +1,43 @@
+package com.eaglebank.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Sequence generator whose increment, and therefore the size of the id block reserved per
+ * database round trip, comes from the {@value #BLOCK_SIZE_SETTING} Hibernate setting.
+ * A block size of 1 fetches every id from the database; larger blocks use the pooled optimizer.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String BLOCK_SIZE_SETTING = "eaglebank.id.block_size";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledSequenceGenerator(PooledSequence config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequenceName = config.name();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int blockSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE);
+        if (blockSize < 1) {
+            throw new MappingException(BLOCK_SIZE_SETTING + " must be at least 1 but was " + blockSize);
+        }
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(INCREMENT_PARAM, Integer.toString(blockSize));
+        parameters.setProperty(OPT_PARAM, blockSize > 1
+                ? StandardOptimizerDescriptor.POOLED.getExternalName()
+                : StandardOptimizerDescriptor.NONE.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
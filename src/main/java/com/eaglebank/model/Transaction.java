@@ -6,21 +6,23 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_account_ts_id", columnList = "bank_account_id, timestamp, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "transactions_seq")
     private Long id;
 
     @ManyToOne(optional = false)
     @JoinColumn(name = "bank_account_id", nullable = false)
     private BankAccount bankAccount;
 
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = Money.MAX_SCALE)
     private BigDecimal amount;
 
     @Enumerated(EnumType.STRING)
@@ -37,6 +39,18 @@ public class Transaction {
     @Column(nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
+    /**
+     * Client supplied {@code Idempotency-Key} of the request that created this transaction.
+     */
+    @Column(name = "idempotency_key", length = 64, unique = true, updatable = false)
+    private String idempotencyKey;
+
+    /**
+     * The other leg of a transfer: the credit for a {@code TRANSFER_OUT} row, the debit for a {@code TRANSFER_IN} row.
+     */
+    @Column(name = "linked_transaction_id")
+    private Long linkedTransactionId;
+
     @PrePersist
     protected void onCreate() {
         this.timestamp = LocalDateTime.now();
@@ -3,7 +3,16 @@ package com.eaglebank.model;
 public enum TransactionType {
     DEPOSIT,
     WITHDRAWAL,
+    TRANSFER_OUT,
+    TRANSFER_IN;
     //PAYMENT,
     // FEE,
     //INTEREST
+
+    /**
+     * Whether a completed transaction of this type takes money out of the account.
+     */
+    public boolean isDebit() {
+        return this == WITHDRAWAL || this == TRANSFER_OUT;
+    }
 } 
\ No newline at end of file
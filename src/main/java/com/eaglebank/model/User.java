@@ -1,23 +1,29 @@
 package com.eaglebank.model;
 
+import com.eaglebank.config.EntityCacheConfig;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = EntityCacheConfig.USERS_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "users_seq")
     private Long id;
 
     private String firstName;
@@ -32,7 +38,13 @@ public class User {
 
     private LocalDate dateOfBirth;
 
+    /**
+     * Excluded from toString/equals: users are cached detached, and touching this lazy
+     * collection outside a session would fail (inside one it recurses back through the accounts).
+     */
     @OneToMany(mappedBy = "user")
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<BankAccount> bankAccounts;
 } 
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.eaglebank.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceMismatchDTO {
+    private Long accountId;
+    private BigDecimal storedBalance;
+    private BigDecimal ledgerBalance;
+}
@@ -0,0 +1,31 @@
+package com.eaglebank.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceRebuildReportDTO {
+    /**
+     * Transactions with an id above this were scanned; zero when no snapshot was used.
+     */
+    private long fromTransactionId;
+    /**
+     * Highest transaction id included, and the watermark of the snapshot written.
+     */
+    private long watermark;
+    private int partitions;
+    private int accountsChecked;
+    private int mismatchCount;
+    /**
+     * The first mismatches found, at most 100.
+     */
+    private List<BalanceMismatchDTO> mismatches;
+    private boolean repaired;
+    private long elapsedMillis;
+}
@@ -12,7 +12,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class BankAccountRequestDTO {
-    @NotBlank
+    /**
+     * Left blank to have the server generate one, when {@code eaglebank.account-number.generate} is on.
+     */
     private String accountNumber;
 
     @NotNull
@@ -2,6 +2,7 @@ package com.eaglebank.model.dto;
 
 import com.eaglebank.model.AccountType;
 import com.eaglebank.model.AccountStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import java.math.BigDecimal;
@@ -23,4 +24,11 @@ public class BankAccountResponseDTO {
     private AccountStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Row version the response was read at. Not serialized; the ETag is built from it, so a
+     * cached response is always served under its own ETag.
+     */
+    @JsonIgnore
+    private long version;
 } 
\ No newline at end of file
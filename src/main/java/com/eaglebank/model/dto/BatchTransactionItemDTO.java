@@ -0,0 +1,32 @@
+package com.eaglebank.model.dto;
+
+import com.eaglebank.model.Money;
+import com.eaglebank.model.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionItemDTO {
+    @NotNull
+    private Long accountId;
+
+    @NotNull
+    @DecimalMin("0.01")
+    @Digits(integer = 15, fraction = Money.MAX_SCALE)
+    private BigDecimal amount;
+
+    @NotNull
+    private TransactionType type;
+
+    @Size(max = 255)
+    private String description;
+}
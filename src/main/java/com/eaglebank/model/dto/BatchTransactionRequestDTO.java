@@ -0,0 +1,16 @@
+package com.eaglebank.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionRequestDTO {
+    @NotEmpty
+    private List<@Valid BatchTransactionItemDTO> items;
+}
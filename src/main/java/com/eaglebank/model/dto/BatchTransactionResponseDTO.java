@@ -0,0 +1,18 @@
+package com.eaglebank.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionResponseDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchTransactionResultDTO> results;
+}
@@ -0,0 +1,23 @@
+package com.eaglebank.model.dto;
+
+import com.eaglebank.model.TransactionStatus;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Outcome of one batch item. {@code transaction} is set whenever a row was written,
+ * including failed withdrawals; {@code error} is set whenever the item did not complete.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionResultDTO {
+    private int index;
+    private Long accountId;
+    private TransactionStatus status;
+    private TransactionResponseDTO transaction;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.eaglebank.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Why one imported row was not saved. {@code row} counts data rows from 1:
+ * non-blank lines for NDJSON, records after the header for CSV.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+    private long row;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.eaglebank.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists at most
+ * {@code eaglebank.bulk-import.max-reported-errors} rows; {@code failed} counts all of them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResponseDTO {
+    private long total;
+    private long succeeded;
+    private long failed;
+    private List<ImportErrorDTO> errors;
+}
@@ -0,0 +1,36 @@
+package com.eaglebank.model.dto;
+
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.TransactionType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters for a page of account history, newest first.
+ * {@code after} is the opaque cursor returned with the previous page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryRequestDTO {
+    private String after;
+
+    @Min(1)
+    @Max(500)
+    private int limit = 50;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private TransactionType type;
+
+    private TransactionStatus status;
+}
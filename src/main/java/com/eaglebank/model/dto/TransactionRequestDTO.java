@@ -1,7 +1,9 @@
 package com.eaglebank.model.dto;
 
+import com.eaglebank.model.Money;
 import com.eaglebank.model.TransactionType;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -16,6 +18,7 @@ import java.math.BigDecimal;
 public class TransactionRequestDTO {
     @NotNull
     @DecimalMin("0.01")
+    @Digits(integer = 15, fraction = Money.MAX_SCALE)
     private BigDecimal amount;
 
     @NotNull
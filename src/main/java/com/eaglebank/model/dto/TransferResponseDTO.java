@@ -0,0 +1,18 @@
+package com.eaglebank.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * The two legs of a transfer, written in the same database transaction.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResponseDTO {
+    private TransactionResponseDTO debit;
+    private TransactionResponseDTO credit;
+}
@@ -0,0 +1,22 @@
+package com.eaglebank.model.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Query parameters for a page of users in id order.
+ * {@code after} is the cursor returned with the previous page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserListRequestDTO {
+    private String after;
+
+    @Min(1)
+    @Max(500)
+    private int limit = 50;
+}
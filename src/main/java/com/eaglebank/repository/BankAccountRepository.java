@@ -1,8 +1,81 @@
 package com.eaglebank.repository;
 
 import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.dto.BankAccountResponseDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface BankAccountRepository extends JpaRepository<BankAccount, Long> {
-    // Additional query methods if needed
-} 
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from BankAccount a where a.id = :id")
+    Optional<BankAccount> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Locks the accounts in ascending id order so concurrent batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from BankAccount a where a.id in :ids order by a.id")
+    List<BankAccount> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Adds the amount to the stored balance in a single UPDATE, if the account's currency has at
+     * least {@code decimalPlaces} decimal places. Returns the number of rows changed: 1 if applied,
+     * 0 if the account does not exist or the amount has too many decimal places.
+     */
+    @Modifying
+    @Query("update BankAccount a set a.balance = a.balance + :amount, a.updatedAt = :now, "
+            + "a.ledgerVersion = a.ledgerVersion + 1, a.version = a.version + 1 "
+            + "where a.id = :id and a.currencyScale >= :decimalPlaces")
+    int creditBalance(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("decimalPlaces") int decimalPlaces,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Subtracts the amount only when the balance covers it and the account's currency has at
+     * least {@code decimalPlaces} decimal places, in a single UPDATE. Returns 1 if applied, 0 if
+     * the account does not exist, the amount has too many decimal places or funds are insufficient.
+     */
+    @Modifying
+    @Query("update BankAccount a set a.balance = a.balance - :amount, a.updatedAt = :now, "
+            + "a.ledgerVersion = a.ledgerVersion + 1, a.version = a.version + 1 where a.id = :id and a.balance >= :amount "
+            + "and a.currencyScale >= :decimalPlaces")
+    int debitBalanceIfSufficient(@Param("id") Long id, @Param("amount") BigDecimal amount,
+                                 @Param("decimalPlaces") int decimalPlaces, @Param("now") LocalDateTime now);
+
+    /**
+     * Response columns only; the owner id is read from the foreign key without joining users.
+     */
+    @Query(value = "select new com.eaglebank.model.dto.BankAccountResponseDTO("
+            + "a.id, a.accountNumber, a.user.id, a.type, a.balance, a.currency, a.status, a.createdAt, a.updatedAt, "
+            + "a.version) "
+            + "from BankAccount a",
+            countQuery = "select count(a) from BankAccount a")
+    Page<BankAccountResponseDTO> findAllResponses(Pageable pageable);
+
+    @Query("select a.balance from BankAccount a where a.id = :id")
+    Optional<BigDecimal> findBalanceById(@Param("id") Long id);
+
+    @Query("select a.currency from BankAccount a where a.id = :id")
+    Optional<String> findCurrencyById(@Param("id") Long id);
+
+    @Query("select a.ledgerVersion from BankAccount a where a.id = :id")
+    Optional<Long> findLedgerVersionById(@Param("id") Long id);
+
+    @Query("select a.id from BankAccount a where a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select a.accountNumber from BankAccount a where a.accountNumber in :accountNumbers")
+    Set<String> findExistingAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+}
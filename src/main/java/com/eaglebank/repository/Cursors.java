@@ -0,0 +1,42 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * The one opaque format every paging cursor is sent in: its fields joined with {@code |},
+ * encoded as URL-safe Base64 without padding.
+ */
+final class Cursors {
+    private Cursors() {
+    }
+
+    static String encode(Object... fields) {
+        StringBuilder raw = new StringBuilder();
+        for (Object field : fields) {
+            if (!raw.isEmpty()) {
+                raw.append('|');
+            }
+            raw.append(field);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits the token back into exactly {@code count} fields and parses them. A token that
+     * does not decode, has another number of fields or does not parse is a bad request.
+     */
+    static <T> T decode(String token, int count, Function<String[], T> parser) {
+        try {
+            String[] fields = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (fields.length != count) {
+                throw new IllegalArgumentException("Expected " + count + " cursor fields");
+            }
+            return parser.apply(fields);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.eaglebank.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in an account history ordered by {@code (timestamp, id)} descending.
+ * Clients only ever see the encoded, opaque form.
+ */
+public record TransactionCursor(LocalDateTime timestamp, Long id) {
+
+    public String encode() {
+        return Cursors.encode(timestamp, id);
+    }
+
+    public static TransactionCursor decode(String token) {
+        return Cursors.decode(token, 2, fields -> new TransactionCursor(LocalDateTime.parse(fields[0]), Long.parseLong(fields[1])));
+    }
+}
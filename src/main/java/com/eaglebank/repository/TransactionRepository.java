@@ -2,9 +2,27 @@ package com.eaglebank.repository;
 
 import com.eaglebank.model.Transaction;
 import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.dto.TransactionResponseDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
     List<Transaction> findByBankAccount(BankAccount bankAccount);
-} 
\ No newline at end of file
+
+    /**
+     * Selects only the response columns; the account id comes from the foreign key, so neither
+     * the account nor its owner is loaded.
+     */
+    @Query("select new com.eaglebank.model.dto.TransactionResponseDTO("
+            + "t.id, t.amount, t.type, t.status, t.description, t.timestamp, t.bankAccount.id) "
+            + "from Transaction t where t.id = :id")
+    Optional<TransactionResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query("select new com.eaglebank.model.dto.TransactionResponseDTO("
+            + "t.id, t.amount, t.type, t.status, t.description, t.timestamp, t.bankAccount.id) "
+            + "from Transaction t where t.idempotencyKey = :key")
+    Optional<TransactionResponseDTO> findResponseByIdempotencyKey(@Param("key") String key);
+}
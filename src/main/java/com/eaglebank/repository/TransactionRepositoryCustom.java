@@ -0,0 +1,23 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.dto.TransactionHistoryRequestDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+    /**
+     * Returns up to {@code limit} transactions of the account strictly after the cursor, newest first.
+     * Only the filters that are set end up in the WHERE clause, so the query can always seek on
+     * the {@code (bank_account_id, timestamp, id)} index instead of skipping rows.
+     */
+    List<TransactionResponseDTO> findHistoryPage(Long accountId, TransactionHistoryRequestDTO filter, TransactionCursor after, int limit);
+
+    /**
+     * Streams the account's transactions in chronological order as DTOs read straight from the
+     * JDBC cursor. No entities are created, so the persistence context does not grow however many
+     * rows are read. Must be consumed, and closed, inside a transaction.
+     */
+    Stream<TransactionResponseDTO> streamHistory(Long accountId, LocalDateTime from, LocalDateTime to, int fetchSize);
+}
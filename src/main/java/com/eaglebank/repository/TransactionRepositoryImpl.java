@@ -0,0 +1,97 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.dto.TransactionHistoryRequestDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionResponseDTO> findHistoryPage(Long accountId, TransactionHistoryRequestDTO filter, TransactionCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponseDTO> query = cb.createQuery(TransactionResponseDTO.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        Path<LocalDateTime> timestamp = transaction.get("timestamp");
+        Path<Long> id = transaction.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(transaction.get("bankAccount").get("id"), accountId));
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(timestamp, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(timestamp, filter.getTo()));
+        }
+        if (filter.getType() != null) {
+            predicates.add(cb.equal(transaction.get("type"), filter.getType()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(transaction.get("status"), filter.getStatus()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(timestamp, after.timestamp()),
+                    cb.and(cb.equal(timestamp, after.timestamp()), cb.lessThan(id, after.id()))));
+        }
+
+        query.select(responseColumns(cb, transaction))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(timestamp), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TransactionResponseDTO> streamHistory(Long accountId, LocalDateTime from, LocalDateTime to, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponseDTO> query = cb.createQuery(TransactionResponseDTO.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        Path<LocalDateTime> timestamp = transaction.get("timestamp");
+        Path<Long> id = transaction.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(transaction.get("bankAccount").get("id"), accountId));
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(timestamp, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(timestamp, to));
+        }
+
+        query.select(responseColumns(cb, transaction))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(timestamp), cb.asc(id));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+
+    private CompoundSelection<TransactionResponseDTO> responseColumns(CriteriaBuilder cb, Root<Transaction> transaction) {
+        return cb.construct(TransactionResponseDTO.class,
+                transaction.get("id"),
+                transaction.get("amount"),
+                transaction.get("type"),
+                transaction.get("status"),
+                transaction.get("description"),
+                transaction.get("timestamp"),
+                transaction.get("bankAccount").get("id"));
+    }
+}
@@ -0,0 +1,16 @@
+package com.eaglebank.repository;
+
+/**
+ * Position in the user list ordered by id. Clients only ever see the encoded, opaque form,
+ * the same as a {@link TransactionCursor}'s.
+ */
+public record UserCursor(Long id) {
+
+    public String encode() {
+        return Cursors.encode(id);
+    }
+
+    public static UserCursor decode(String token) {
+        return Cursors.decode(token, 1, fields -> new UserCursor(Long.parseLong(fields[0])));
+    }
+}
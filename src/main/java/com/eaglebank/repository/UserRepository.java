@@ -1,8 +1,28 @@
 package com.eaglebank.repository;
 
 import com.eaglebank.model.User;
+import com.eaglebank.model.dto.UserResponseDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
  
-public interface UserRepository extends JpaRepository<User, Long> {
-    // Additional query methods (if needed) can be defined here
-} 
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    /**
+     * Up to {@code limit} users with an id greater than {@code afterId}, in id order.
+     * Seeks on the primary key, so every page costs the same however deep it is.
+     */
+    @Query("select new com.eaglebank.model.dto.UserResponseDTO("
+            + "u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.address, u.dateOfBirth) "
+            + "from User u where u.id > :afterId order by u.id")
+    List<UserResponseDTO> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * The ids among {@code ids} that belong to an existing user, in one query.
+     */
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
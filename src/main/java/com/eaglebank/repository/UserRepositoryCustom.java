@@ -0,0 +1,12 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.dto.UserResponseDTO;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+    /**
+     * Streams every user in id order as DTOs read straight from the JDBC cursor.
+     * Must be consumed, and closed, inside a transaction.
+     */
+    Stream<UserResponseDTO> streamResponses(int fetchSize);
+}
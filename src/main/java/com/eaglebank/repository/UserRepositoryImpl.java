@@ -0,0 +1,23 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.dto.UserResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<UserResponseDTO> streamResponses(int fetchSize) {
+        return entityManager.createQuery("select new com.eaglebank.model.dto.UserResponseDTO("
+                        + "u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.address, u.dateOfBirth) "
+                        + "from User u order by u.id", UserResponseDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,131 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out account numbers from blocks of sequence values leased off a counter row in
+ * {@code account_number_counter}, enabled with {@code eaglebank.account-number.generate}.
+ * <p>
+ * Several blocks are held at once, one per stripe, and a thread always draws from the stripe its
+ * id maps to, so creators only share a lock with the threads on their stripe and only touch the
+ * counter row once per block. Leasing is a single UPDATE in its own transaction, which also makes
+ * blocks unique across application instances. Numbers left in held blocks at shutdown are skipped.
+ * <p>
+ * A number is the prefix, the sequence value zero-padded to {@code digits}, and a Luhn check
+ * digit over those digits.
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator implements InitializingBean {
+    private final EagleBankProperties.AccountNumber config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leaseTransaction;
+    private final long capacity;
+    private Stripe[] stripes;
+
+    public AccountNumberAllocator(EagleBankProperties properties, JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.config = properties.getAccountNumber();
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.capacity = (long) Math.pow(10, config.getDigits());
+    }
+
+    public boolean isEnabled() {
+        return config.isGenerate();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (config.getDigits() < 1 || config.getDigits() > 18 || config.getBlockSize() < 1) {
+            throw new IllegalStateException("eaglebank.account-number needs 1-18 digits and a positive block size");
+        }
+        jdbcTemplate.execute("create table if not exists account_number_counter (id int primary key, next_value bigint not null)");
+        if (jdbcTemplate.queryForList("select id from account_number_counter where id = 1", Integer.class).isEmpty()) {
+            jdbcTemplate.update("insert into account_number_counter (id, next_value) values (1, 1)");
+        }
+        int count = config.getStripes() > 0 ? config.getStripes() : Runtime.getRuntime().availableProcessors() * 2;
+        stripes = new Stripe[Integer.highestOneBit(Math.max(1, count - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        log.info("Generating account numbers from {} stripes of {} numbers", stripes.length, config.getBlockSize());
+    }
+
+    public String next() {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Account number generation is disabled");
+        }
+        Stripe stripe = stripes[(int) Thread.currentThread().threadId() & (stripes.length - 1)];
+        long value;
+        stripe.lock.lock();
+        try {
+            if (stripe.next == stripe.end) {
+                lease(stripe);
+            }
+            value = stripe.next++;
+        } finally {
+            stripe.lock.unlock();
+        }
+        return format(value);
+    }
+
+    private void lease(Stripe stripe) {
+        long end = leaseTransaction.execute(status -> {
+            jdbcTemplate.update("update account_number_counter set next_value = next_value + ? where id = 1", config.getBlockSize());
+            return jdbcTemplate.queryForObject("select next_value from account_number_counter where id = 1", Long.class);
+        });
+        if (end > capacity) {
+            throw new IllegalStateException("Account number space of " + config.getDigits() + " digits is exhausted");
+        }
+        stripe.next = end - config.getBlockSize();
+        stripe.end = end;
+    }
+
+    private String format(long value) {
+        StringBuilder number = new StringBuilder(config.getPrefix().length() + config.getDigits() + 1);
+        number.append(config.getPrefix());
+        String digits = Long.toString(value);
+        number.repeat('0', config.getDigits() - digits.length()).append(digits);
+        return number.append(checkDigit(number, config.getPrefix().length())).toString();
+    }
+
+    /**
+     * Luhn check digit over the digits from {@code from} on: doubling every second digit from
+     * the right catches any single wrong digit and most swaps of neighbours.
+     */
+    static int checkDigit(CharSequence number, int from) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = number.length() - 1; i >= from; i--) {
+            int digit = number.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long end;
+    }
+}
@@ -0,0 +1,83 @@
+package com.eaglebank.service;
+
+import com.eaglebank.repository.BankAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Account number to id for every account, so resolving a number is a hash lookup rather than a
+ * query. Loaded once all beans exist, before the web server takes requests, and kept current by
+ * {@link BankAccountServiceImpl}.
+ * <p>
+ * Accounts written another way, such as by the bulk import, are not known until first asked
+ * for: a miss falls back to the finder on the unique column and remembers the answer. The finder
+ * runs inside {@code computeIfAbsent}, so a removal of the same number waits for it rather than
+ * being overtaken by the answer it read; removals are made once their change has committed.
+ */
+@Slf4j
+@Component
+public class AccountNumberIndex implements SmartInitializingSingleton {
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final BankAccountRepository bankAccountRepository;
+
+    public AccountNumberIndex(JdbcTemplate jdbcTemplate, BankAccountRepository bankAccountRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bankAccountRepository = bankAccountRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        jdbcTemplate.query("select account_number, id from bank_accounts",
+                rs -> { ids.put(rs.getString(1), rs.getLong(2)); });
+        log.info("Indexed {} account numbers in {} ms", ids.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Optional<Long> resolve(String accountNumber) {
+        return Optional.ofNullable(ids.computeIfAbsent(accountNumber,
+                number -> bankAccountRepository.findIdByAccountNumber(number).orElse(null)));
+    }
+
+    void put(String accountNumber, Long id) {
+        ids.put(accountNumber, id);
+    }
+
+    /**
+     * Removes the entry only if it still points at {@code id}, so a number already taken over by
+     * another account is left alone.
+     */
+    void remove(String accountNumber, Long id) {
+        ids.remove(accountNumber, id);
+    }
+
+    /**
+     * Moves the account to its new number once the surrounding transaction commits, or at once
+     * outside one, so a lookup of the old number cannot read the uncommitted row and put it back.
+     */
+    void renumber(Long id, String previousNumber, String accountNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(previousNumber, id);
+            put(accountNumber, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(previousNumber, id);
+                put(accountNumber, id);
+            }
+        });
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
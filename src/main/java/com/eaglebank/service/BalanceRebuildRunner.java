@@ -0,0 +1,38 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.model.dto.BalanceMismatchDTO;
+import com.eaglebank.model.dto.BalanceRebuildReportDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the balance rebuild when {@code eaglebank.rebuild.mode} is VERIFY or REPAIR, once every
+ * bean exists but before the web server starts accepting connections, so no request can move a
+ * balance while the ledger is summed or a repair is written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceRebuildRunner implements SmartInitializingSingleton {
+    private final BalanceRebuildService balanceRebuildService;
+    private final EagleBankProperties properties;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        EagleBankProperties.RebuildMode mode = properties.getRebuild().getMode();
+        if (mode == EagleBankProperties.RebuildMode.OFF) {
+            return;
+        }
+        BalanceRebuildReportDTO report = balanceRebuildService.rebuild(mode == EagleBankProperties.RebuildMode.REPAIR);
+        log.info("Balance rebuild checked {} accounts over transactions ({}, {}] in {} partitions in {} ms: {} mismatches{}",
+                report.getAccountsChecked(), report.getFromTransactionId(), report.getWatermark(), report.getPartitions(),
+                report.getElapsedMillis(), report.getMismatchCount(), report.isRepaired() ? ", repaired" : "");
+        for (BalanceMismatchDTO mismatch : report.getMismatches()) {
+            log.warn("Account {} stores balance {} but its ledger adds up to {}",
+                    mismatch.getAccountId(), mismatch.getStoredBalance(), mismatch.getLedgerBalance());
+        }
+    }
+}
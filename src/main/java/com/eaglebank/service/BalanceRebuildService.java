@@ -0,0 +1,7 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.dto.BalanceRebuildReportDTO;
+
+public interface BalanceRebuildService {
+    BalanceRebuildReportDTO rebuild(boolean repair);
+}
@@ -0,0 +1,205 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.journal.TransactionJournal;
+import com.eaglebank.model.Money;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.dto.BalanceMismatchDTO;
+import com.eaglebank.model.dto.BalanceRebuildReportDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Recomputes every balance from the ledger: the opening balance, or the balance in the last
+ * snapshot, plus the COMPLETED transactions after it.
+ * <p>
+ * The transaction id range is split on a fork-join pool until each task covers at most
+ * {@code eaglebank.rebuild.partition-size} ids, and each task sums its range per account with one
+ * GROUP BY query. Ids are handed out in blocks, so a range only stays complete once nothing is
+ * being written; run the rebuild while the application is not taking transactions, as
+ * {@link BalanceRebuildRunner} does before the web server starts. A repair only overwrites a
+ * balance that still holds the value that was checked, so a balance changed meanwhile is left
+ * as it is and reported.
+ * A snapshot is only used if its token matches the one stored in {@code balance_snapshot}; the
+ * token is replaced before each new snapshot file is written. In journal mode it first waits for
+ * the projector to catch up, and a repair drops the journal's in-memory balances for the repaired
+ * accounts so they are reloaded from the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceRebuildServiceImpl implements BalanceRebuildService {
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+    private static final String SUM_RANGE = "select bank_account_id, type, sum(amount) from transactions "
+            + "where id > ? and id <= ? and status = 'COMPLETED' group by bank_account_id, type";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EagleBankProperties properties;
+    private final CacheInvalidator cacheInvalidator;
+    private final TransactionJournal transactionJournal;
+
+    @Override
+    public BalanceRebuildReportDTO rebuild(boolean repair) {
+        long start = System.nanoTime();
+        if (transactionJournal.isEnabled()) {
+            try {
+                transactionJournal.awaitProjected();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the journal to be projected", e);
+            }
+        }
+        EagleBankProperties.Rebuild config = properties.getRebuild();
+        Path snapshotFile = config.getSnapshotFile().isBlank() ? null : Path.of(config.getSnapshotFile());
+        if (snapshotFile != null) {
+            jdbcTemplate.execute("create table if not exists balance_snapshot (id int primary key, token bigint not null)");
+        }
+        BalanceSnapshot snapshot = readSnapshot(snapshotFile);
+        long from = snapshot != null ? snapshot.watermark() : 0;
+        Map<String, Object> range = jdbcTemplate.queryForMap("select min(id) as low, max(id) as high from transactions where id > ?", from);
+        long watermark = range.get("high") != null ? ((Number) range.get("high")).longValue() : from;
+        long scanFrom = range.get("low") != null ? ((Number) range.get("low")).longValue() - 1 : from;
+
+        int parallelism = config.getParallelism() > 0 ? config.getParallelism() : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Map<Long, BigDecimal> movements;
+        try {
+            movements = pool.invoke(new RangeSum(scanFrom, watermark, config.getPartitionSize()));
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Long, Money> rebuilt = new HashMap<>();
+        List<BalanceMismatchDTO> mismatches = new ArrayList<>();
+        jdbcTemplate.query("select id, balance, opening_balance, currency from bank_accounts", rs -> {
+            long accountId = rs.getLong(1);
+            BigDecimal stored = rs.getBigDecimal(2);
+            BigDecimal opening = rs.getBigDecimal(3);
+            int scale = Money.scaleOf(rs.getString(4));
+            Money base = snapshot != null && snapshot.balances().containsKey(accountId)
+                    ? Money.of(snapshot.balances().get(accountId).toBigDecimal(), scale)
+                    : Money.of(opening != null ? opening : BigDecimal.ZERO, scale);
+            Money ledger = base.plus(Money.of(movements.getOrDefault(accountId, BigDecimal.ZERO), scale));
+            rebuilt.put(accountId, ledger);
+            if (stored.compareTo(ledger.toBigDecimal()) != 0) {
+                mismatches.add(new BalanceMismatchDTO(accountId, stored, ledger.toBigDecimal()));
+            }
+        });
+
+        List<Long> repaired = new ArrayList<>();
+        if (repair && !mismatches.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int[] updated = jdbcTemplate.batchUpdate("update bank_accounts set balance = ?, updated_at = ?, "
+                    + "version = version + 1 where id = ? and balance = ?",
+                    mismatches.stream().map(m -> new Object[] {m.getLedgerBalance(), now, m.getAccountId(), m.getStoredBalance()}).toList());
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] > 0) {
+                    repaired.add(mismatches.get(i).getAccountId());
+                } else {
+                    log.warn("Account {} changed while its balance was rebuilt; not repaired", mismatches.get(i).getAccountId());
+                }
+            }
+            cacheInvalidator.evictBankAccounts(repaired);
+            transactionJournal.forget(repaired);
+        }
+        if (snapshotFile != null) {
+            long token = ThreadLocalRandom.current().nextLong();
+            if (jdbcTemplate.update("update balance_snapshot set token = ? where id = 1", token) == 0) {
+                jdbcTemplate.update("insert into balance_snapshot (id, token) values (1, ?)", token);
+            }
+            try {
+                new BalanceSnapshot(token, watermark, rebuilt).write(snapshotFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write balance snapshot " + snapshotFile, e);
+            }
+        }
+        return BalanceRebuildReportDTO.builder()
+                .fromTransactionId(from)
+                .watermark(watermark)
+                .partitions((int) Math.max(1, Math.ceilDiv(watermark - scanFrom, config.getPartitionSize())))
+                .accountsChecked(rebuilt.size())
+                .mismatchCount(mismatches.size())
+                .mismatches(List.copyOf(mismatches.subList(0, Math.min(mismatches.size(), MAX_REPORTED_MISMATCHES))))
+                .repaired(!repaired.isEmpty())
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    private BalanceSnapshot readSnapshot(Path snapshotFile) {
+        if (snapshotFile == null) {
+            return null;
+        }
+        try {
+            BalanceSnapshot snapshot = BalanceSnapshot.read(snapshotFile);
+            if (snapshot == null) {
+                log.info("No usable balance snapshot at {}, scanning all transactions", snapshotFile);
+                return null;
+            }
+            List<Long> token = jdbcTemplate.queryForList("select token from balance_snapshot where id = 1", Long.class);
+            if (!token.equals(List.of(snapshot.token()))) {
+                log.warn("Balance snapshot {} was not built from this database, scanning all transactions", snapshotFile);
+                return null;
+            }
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("Could not read balance snapshot {}, scanning all transactions", snapshotFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Net ledger movement per account for transaction ids in {@code (from, to]}.
+     */
+    private class RangeSum extends RecursiveTask<Map<Long, BigDecimal>> {
+        private final long from;
+        private final long to;
+        private final int partitionSize;
+
+        RangeSum(long from, long to, int partitionSize) {
+            this.from = from;
+            this.to = to;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        protected Map<Long, BigDecimal> compute() {
+            if (to - from <= partitionSize) {
+                return sum();
+            }
+            long middle = from + (to - from) / 2;
+            RangeSum lower = new RangeSum(from, middle, partitionSize);
+            lower.fork();
+            Map<Long, BigDecimal> result = new RangeSum(middle, to, partitionSize).compute();
+            lower.join().forEach((accountId, amount) -> result.merge(accountId, amount, BigDecimal::add));
+            return result;
+        }
+
+        private Map<Long, BigDecimal> sum() {
+            Map<Long, BigDecimal> result = new HashMap<>();
+            if (to <= from) {
+                return result;
+            }
+            jdbcTemplate.query(SUM_RANGE, rs -> {
+                TransactionType type = TransactionType.valueOf(rs.getString(2));
+                BigDecimal amount = rs.getBigDecimal(3);
+                result.merge(rs.getLong(1), type.isDebit() ? amount.negate() : amount, BigDecimal::add);
+            }, from, to);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.Money;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Ledger balances of every account as of {@code watermark}, the highest transaction id they include.
+ * {@code token} is also stored in the database the snapshot was built from, so a snapshot that
+ * outlives its database, or predates a restored backup, can be told apart and ignored.
+ * <p>
+ * File layout: magic, version, token, watermark, entry count, then per account its id, balance in
+ * minor units and scale, followed by a CRC32C of everything before it. 17 bytes per account.
+ */
+record BalanceSnapshot(long token, long watermark, Map<Long, Money> balances) {
+    private static final int MAGIC = 0x45424253;
+    private static final int VERSION = 2;
+    private static final int ENTRY_BYTES = 17;
+
+    /**
+     * Returns null when there is no snapshot, or when it is damaged and a full rebuild is needed.
+     */
+    static BalanceSnapshot read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        try (CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file)), crc);
+             DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long token = in.readLong();
+            long watermark = in.readLong();
+            int count = in.readInt();
+            if (count < 0 || count > Files.size(file) / ENTRY_BYTES) {
+                return null;
+            }
+            Map<Long, Money> balances = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                long accountId = in.readLong();
+                long minorUnits = in.readLong();
+                balances.put(accountId, Money.ofMinor(minorUnits, in.readByte()));
+            }
+            int expected = (int) crc.getValue();
+            if (in.readInt() != expected) {
+                return null;
+            }
+            return new BalanceSnapshot(token, watermark, balances);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, so a crash never leaves a half-written snapshot behind.
+     */
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream out = new DataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(token);
+            out.writeLong(watermark);
+            out.writeInt(balances.size());
+            for (Map.Entry<Long, Money> entry : balances.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeLong(entry.getValue().getMinorUnits());
+                out.writeByte(entry.getValue().getScale());
+            }
+            out.flush();
+            out.writeInt((int) crc.getValue());
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
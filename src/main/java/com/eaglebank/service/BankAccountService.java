@@ -1,6 +1,7 @@
 package com.eaglebank.service;
 
 import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.dto.BankAccountResponseDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
@@ -8,7 +9,13 @@ import java.util.List;
 public interface BankAccountService {
     BankAccount createBankAccount(BankAccount bankAccount);
     BankAccount updateBankAccount(Long id, BankAccount bankAccount);
-    BankAccount getBankAccountById(Long id);
-    Page<BankAccount> getAllBankAccounts(Pageable pageable);
+
+    /**
+     * The account as served to clients. Cached as this detached copy rather than as the entity,
+     * so a cached entry never shares state with a persistence context or drags in its owner.
+     */
+    BankAccountResponseDTO getBankAccountById(Long id);
+    Long getBankAccountIdByNumber(String accountNumber);
+    Page<BankAccountResponseDTO> getAllBankAccounts(Pageable pageable);
     void deleteBankAccountById(Long id);
 } 
\ No newline at end of file
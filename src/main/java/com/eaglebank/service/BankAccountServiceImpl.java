@@ -1,69 +1,136 @@
 package com.eaglebank.service;
 
+import com.eaglebank.config.CacheConfig;
+import com.eaglebank.journal.TransactionJournal;
+import com.eaglebank.mapper.BankAccountMapper;
 import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Money;
+import com.eaglebank.model.dto.BankAccountResponseDTO;
 import com.eaglebank.repository.BankAccountRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
+import com.eaglebank.exceptions.BadRequestException;
 import com.eaglebank.exceptions.NotFoundException;
 
 @Slf4j
 @Service
 public class BankAccountServiceImpl implements BankAccountService {
     private final BankAccountRepository bankAccountRepository;
+    private final AccountNumberIndex accountNumberIndex;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final TransactionJournal transactionJournal;
 
-    public BankAccountServiceImpl(BankAccountRepository bankAccountRepository) {
+    public BankAccountServiceImpl(BankAccountRepository bankAccountRepository, AccountNumberIndex accountNumberIndex,
+                                  AccountNumberAllocator accountNumberAllocator, TransactionJournal transactionJournal) {
         this.bankAccountRepository = bankAccountRepository;
+        this.accountNumberIndex = accountNumberIndex;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.transactionJournal = transactionJournal;
     }
 
     @Override
     public BankAccount createBankAccount(BankAccount bankAccount) {
+        checkBalance(bankAccount);
+        if (bankAccount.getAccountNumber() == null || bankAccount.getAccountNumber().isBlank()) {
+            if (!accountNumberAllocator.isEnabled()) {
+                throw new BadRequestException("accountNumber: must not be blank");
+            }
+            bankAccount.setAccountNumber(accountNumberAllocator.next());
+        }
         log.info("Creating new bank account: {}", bankAccount);
-        return bankAccountRepository.save(bankAccount);
+        BankAccount created = bankAccountRepository.save(bankAccount);
+        accountNumberIndex.put(created.getAccountNumber(), created.getId());
+        return created;
     }
 
+    /**
+     * The balance can only change through transactions, so it stays what the ledger says; a
+     * request must carry the current balance unchanged. The row is locked from read to write,
+     * as the ledger locks it, so a balance change committed meanwhile is never overwritten with
+     * the balance read before it.
+     */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BANK_ACCOUNTS, key = "#id")
     public BankAccount updateBankAccount(Long id, BankAccount bankAccount) {
         log.info("Updating bank account with id {}: {}", id, bankAccount);
-        Optional<BankAccount> existingOpt = bankAccountRepository.findById(id);
+        Optional<BankAccount> existingOpt = bankAccountRepository.findByIdForUpdate(id);
         if (existingOpt.isPresent()) {
             BankAccount existing = existingOpt.get();
-            existing.setAccountNumber(bankAccount.getAccountNumber());
+            checkBalance(bankAccount);
+            if (bankAccount.getBalance() != null && bankAccount.getBalance().compareTo(existing.getBalance()) != 0) {
+                throw new BadRequestException("balance: can only be changed by transactions");
+            }
+            String previousNumber = existing.getAccountNumber();
+            if (bankAccount.getAccountNumber() != null && !bankAccount.getAccountNumber().isBlank()) {
+                existing.setAccountNumber(bankAccount.getAccountNumber());
+            }
             existing.setUser(bankAccount.getUser());
             existing.setType(bankAccount.getType());
-            existing.setBalance(bankAccount.getBalance());
             existing.setCurrency(bankAccount.getCurrency());
             existing.setStatus(bankAccount.getStatus());
-            return bankAccountRepository.save(existing);
+            BankAccount updated = bankAccountRepository.save(existing);
+            if (!updated.getAccountNumber().equals(previousNumber)) {
+                accountNumberIndex.renumber(id, previousNumber, updated.getAccountNumber());
+            }
+            return updated;
         } else {
             log.warn("Bank account not found with id: {}", id);
             throw new RuntimeException("Bank account not found with id: " + id);
         }
     }
 
+    /**
+     * Rejects currencies the balance column cannot store exactly, and balances with more decimal
+     * places than their currency, instead of letting the database round them.
+     */
+    private static void checkBalance(BankAccount bankAccount) {
+        int scale = Money.scaleOf(bankAccount.getCurrency());
+        if (bankAccount.getBalance() != null) {
+            Money.of(bankAccount.getBalance(), scale);
+        }
+    }
+
     @Override
-    public BankAccount getBankAccountById(Long id) {
+    @Cacheable(cacheNames = CacheConfig.BANK_ACCOUNTS, key = "#id")
+    public BankAccountResponseDTO getBankAccountById(Long id) {
         log.info("Fetching bank account with id: {}", id);
         return bankAccountRepository.findById(id)
+                .map(BankAccountMapper::toResponseDTO)
                 .orElseThrow(() -> new NotFoundException("Bank account not found with id: " + id));
     }
 
     @Override
-    public Page<BankAccount> getAllBankAccounts(Pageable pageable) {
+    public Long getBankAccountIdByNumber(String accountNumber) {
+        return accountNumberIndex.resolve(accountNumber)
+                .orElseThrow(() -> new NotFoundException("Bank account not found with number: " + accountNumber));
+    }
+
+    @Override
+    public Page<BankAccountResponseDTO> getAllBankAccounts(Pageable pageable) {
         log.info("Fetching all bank accounts with pagination");
-        return bankAccountRepository.findAll(pageable);
+        return bankAccountRepository.findAllResponses(pageable);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BANK_ACCOUNTS, key = "#id")
     public void deleteBankAccountById(Long id) {
         log.info("Deleting bank account with id: {}", id);
-        if (!bankAccountRepository.existsById(id)) {
-            log.warn("Bank account not found with id: {}", id);
-            throw new NotFoundException("Bank account not found with id: " + id);
+        if (transactionJournal.isEnabled()) {
+            throw new BadRequestException("Bank accounts cannot be deleted while the transaction journal is enabled");
         }
-        bankAccountRepository.deleteById(id);
+        BankAccount existing = bankAccountRepository.findById(id).orElseThrow(() -> {
+            log.warn("Bank account not found with id: {}", id);
+            return new NotFoundException("Bank account not found with id: " + id);
+        });
+        bankAccountRepository.delete(existing);
+        accountNumberIndex.remove(existing.getAccountNumber(), id);
         log.info("Bank account deleted with id: {}", id);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.model.dto.ImportResponseDTO;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BulkImportService {
+    ImportResponseDTO importUsers(ExportFormat format, InputStream in) throws IOException;
+
+    ImportResponseDTO importBankAccounts(ExportFormat format, InputStream in) throws IOException;
+}
@@ -0,0 +1,341 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.exceptions.InvalidAmountException;
+import com.eaglebank.mapper.BankAccountMapper;
+import com.eaglebank.mapper.UserMapper;
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.model.Money;
+import com.eaglebank.model.dto.BankAccountRequestDTO;
+import com.eaglebank.model.dto.ImportErrorDTO;
+import com.eaglebank.model.dto.ImportResponseDTO;
+import com.eaglebank.model.dto.UserRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads an NDJSON or CSV upload row by row and inserts the valid rows in chunks of
+ * {@code eaglebank.bulk-import.chunk-size}, one database transaction per chunk. Memory use
+ * depends on the chunk size and the number of reported errors, not on the size of the upload.
+ * <p>
+ * Rows are validated with the same constraints as the single-row endpoints. CSV files need a
+ * header row naming the request fields; unknown columns are ignored, so an export can be
+ * imported again, and empty fields are read as null.
+ */
+@Slf4j
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+    private final UserRepository userRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final EagleBankProperties properties;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final AccountNumberAllocator accountNumberAllocator;
+
+    public BulkImportServiceImpl(UserRepository userRepository,
+                                 BankAccountRepository bankAccountRepository,
+                                 AccountNumberAllocator accountNumberAllocator,
+                                 TransactionTemplate transactionTemplate,
+                                 EntityManager entityManager,
+                                 Validator validator,
+                                 EagleBankProperties properties,
+                                 ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    @Override
+    public ImportResponseDTO importUsers(ExportFormat format, InputStream in) throws IOException {
+        log.info("Importing users as {}", format);
+        Report report = new Report(properties.getBulkImport().getMaxReportedErrors());
+        readRows(format, in, UserRequestDTO.class, report,
+                chunk -> save(chunk, UserMapper::toUser, userRepository, report));
+        return report.toResponse();
+    }
+
+    @Override
+    public ImportResponseDTO importBankAccounts(ExportFormat format, InputStream in) throws IOException {
+        log.info("Importing bank accounts as {}", format);
+        Report report = new Report(properties.getBulkImport().getMaxReportedErrors());
+        readRows(format, in, BankAccountRequestDTO.class, report, chunk -> saveBankAccounts(chunk, report));
+        return report.toResponse();
+    }
+
+    /**
+     * Resolves the owners and checks the account numbers of the whole chunk with one query each,
+     * then links each account to its owner by reference without loading the user. Rows whose
+     * balance does not fit their currency are rejected. Rows without an account number get a
+     * generated one, or are rejected when generation is off.
+     */
+    private void saveBankAccounts(List<Row<BankAccountRequestDTO>> chunk, Report report) {
+        chunk.removeIf(row -> {
+            BankAccountRequestDTO dto = row.value();
+            try {
+                Money.of(dto.getBalance(), Money.scaleOf(dto.getCurrency()));
+            } catch (InvalidAmountException e) {
+                report.fail(row.number(), e.getMessage());
+                return true;
+            }
+            if (dto.getAccountNumber() != null && !dto.getAccountNumber().isBlank()) {
+                return false;
+            }
+            if (!accountNumberAllocator.isEnabled()) {
+                report.fail(row.number(), "accountNumber: must not be blank");
+                return true;
+            }
+            dto.setAccountNumber(accountNumberAllocator.next());
+            return false;
+        });
+        Set<Long> existingUsers = userRepository.findExistingIds(
+                chunk.stream().map(row -> row.value().getUserId()).collect(Collectors.toSet()));
+        Set<String> takenNumbers = new HashSet<>(bankAccountRepository.findExistingAccountNumbers(
+                chunk.stream().map(row -> row.value().getAccountNumber()).collect(Collectors.toSet())));
+        List<Row<BankAccountRequestDTO>> accepted = new ArrayList<>(chunk.size());
+        for (Row<BankAccountRequestDTO> row : chunk) {
+            BankAccountRequestDTO dto = row.value();
+            if (!existingUsers.contains(dto.getUserId())) {
+                report.fail(row.number(), "User not found with id: " + dto.getUserId());
+            } else if (!takenNumbers.add(dto.getAccountNumber())) {
+                report.fail(row.number(), "Account number already exists: " + dto.getAccountNumber());
+            } else {
+                accepted.add(row);
+            }
+        }
+        save(accepted, dto -> BankAccountMapper.toBankAccount(dto, userRepository.getReferenceById(dto.getUserId())),
+                bankAccountRepository, report);
+    }
+
+    /**
+     * Inserts the chunk in one transaction. If that fails, each row is retried on its own so one
+     * bad row cannot take the rest of the chunk with it.
+     */
+    private <T, E> void save(List<Row<T>> chunk, Function<T, E> toEntity, JpaRepository<E, Long> repository, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            insert(chunk, toEntity, repository);
+            report.succeed(chunk.size());
+        } catch (DataAccessException e) {
+            log.warn("Importing a chunk of {} rows failed, retrying one at a time", chunk.size(), e);
+            for (Row<T> row : chunk) {
+                try {
+                    insert(List.of(row), toEntity, repository);
+                    report.succeed(1);
+                } catch (DataAccessException single) {
+                    report.fail(row.number(), "Could not be saved: " + single.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Entities are built inside the transaction and detached once flushed, so neither a retry
+     * nor an open session holds on to them.
+     */
+    private <T, E> void insert(List<Row<T>> rows, Function<T, E> toEntity, JpaRepository<E, Long> repository) {
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.saveAll(rows.stream().map(row -> toEntity.apply(row.value())).toList());
+            repository.flush();
+            entityManager.clear();
+        });
+    }
+
+    private <T> void readRows(ExportFormat format, InputStream in, Class<T> type, Report report,
+                              Consumer<List<Row<T>>> saveChunk) throws IOException {
+        int chunkSize = properties.getBulkImport().getChunkSize();
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        Consumer<Row<T>> accept = row -> {
+            String violations = validate(row.value());
+            if (violations != null) {
+                report.fail(row.number(), violations);
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                saveChunk.accept(chunk);
+                chunk.clear();
+            }
+        };
+        if (format == ExportFormat.CSV) {
+            readCsv(in, type, report, accept);
+        } else {
+            readNdjson(in, type, report, accept);
+        }
+        saveChunk.accept(chunk);
+    }
+
+    /**
+     * Each line is parsed on its own, so a malformed line is reported and the next one still read.
+     * Lines longer than {@code eaglebank.bulk-import.max-line-length} are reported and skipped.
+     */
+    private <T> void readNdjson(InputStream in, Class<T> type, Report report, Consumer<Row<T>> accept) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(type);
+        int maxLength = properties.getBulkImport().getMaxLineLength();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        StringBuilder line = new StringBuilder();
+        long length;
+        while ((length = readLine(lines, line, maxLength)) >= 0) {
+            String text = line.toString();
+            if (text.isBlank()) {
+                continue;
+            }
+            long number = report.read();
+            if (length > maxLength) {
+                report.fail(number, "Line longer than " + maxLength + " characters");
+                continue;
+            }
+            try {
+                accept.accept(new Row<>(number, reader.readValue(text)));
+            } catch (JsonProcessingException e) {
+                report.fail(number, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the next line into {@code line}, keeping at most {@code maxLength} characters and
+     * skipping the rest. Returns the full length of the line without its terminator, or -1 at
+     * the end of the input.
+     */
+    private static long readLine(BufferedReader in, StringBuilder line, int maxLength) throws IOException {
+        line.setLength(0);
+        long length = 0;
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (length++ < maxLength) {
+                line.append((char) c);
+            }
+        }
+        if (c == -1 && length == 0) {
+            return -1;
+        }
+        if (length <= maxLength && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * A record that cannot be bound is reported and the iterator moves on to the next record;
+     * a file that cannot be tokenized at all ends the import at that point.
+     */
+    private <T> void readCsv(InputStream in, Class<T> type, Report report, Consumer<Row<T>> accept) throws IOException {
+        ObjectReader reader = csvMapper.readerFor(type).with(CsvSchema.emptySchema().withHeader());
+        try (MappingIterator<T> records = reader.readValues(in)) {
+            while (hasNext(records, report)) {
+                long number = report.read();
+                try {
+                    accept.accept(new Row<>(number, records.nextValue()));
+                } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                    report.fail(number, "Invalid CSV record: " + e.getMessage().lines().findFirst().orElse(""));
+                }
+            }
+        }
+    }
+
+    private static boolean hasNext(MappingIterator<?> records, Report report) throws IOException {
+        try {
+            return records.hasNextValue();
+        } catch (JsonProcessingException e) {
+            report.fail(report.read(), "Unreadable CSV, import stopped: " + e.getOriginalMessage());
+            return false;
+        }
+    }
+
+    private String validate(Object value) {
+        Set<? extends ConstraintViolation<?>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record Row<T>(long number, T value) {
+    }
+
+    private static class Report {
+        private final int maxErrors;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long total;
+        private long succeeded;
+        private long failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        long read() {
+            return ++total;
+        }
+
+        void succeed(int rows) {
+            succeeded += rows;
+        }
+
+        void fail(long row, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDTO(row, error));
+            }
+        }
+
+        ImportResponseDTO toResponse() {
+            return ImportResponseDTO.builder()
+                    .total(total)
+                    .succeeded(succeeded)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
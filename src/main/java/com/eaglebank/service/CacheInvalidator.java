@@ -0,0 +1,36 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.CacheConfig;
+import com.eaglebank.model.BankAccount;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+
+/**
+ * Evicts cached entries whose rows were changed outside the owning service,
+ * e.g. account balances moved by the transaction paths. Call after the change has committed.
+ * Both the service cache and Hibernate's second-level cache are evicted, as JDBC writes bypass the latter.
+ */
+@Component
+public class CacheInvalidator {
+    private final Cache bankAccounts;
+    private final jakarta.persistence.Cache entityCache;
+
+    public CacheInvalidator(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.bankAccounts = cacheManager.getCache(CacheConfig.BANK_ACCOUNTS);
+        this.entityCache = entityManagerFactory.getCache();
+    }
+
+    public void evictBankAccount(Long accountId) {
+        if (bankAccounts != null) {
+            bankAccounts.evict(accountId);
+        }
+        entityCache.evict(BankAccount.class, accountId);
+    }
+
+    public void evictBankAccounts(Collection<Long> accountIds) {
+        accountIds.forEach(this::evictBankAccount);
+    }
+}
@@ -0,0 +1,29 @@
+package com.eaglebank.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 field quoting shared by the CSV exports.
+ */
+final class CsvFields {
+    private CsvFields() {
+    }
+
+    /**
+     * Writes the value, quoted only when it contains a separator, quote or line break.
+     * Null is written as an empty field.
+     */
+    static void write(String value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
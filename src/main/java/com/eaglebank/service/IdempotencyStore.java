@@ -0,0 +1,33 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+/**
+ * Responses of recently applied deposits and withdrawals, keyed by the client's
+ * {@code Idempotency-Key}. Bounded in size and expired after the configured TTL; the
+ * unique key column on {@code transactions} remains the source of truth once an entry is gone.
+ */
+@Component
+public class IdempotencyStore {
+    private final Cache<String, TransactionResponseDTO> responses;
+
+    public IdempotencyStore(EagleBankProperties properties) {
+        EagleBankProperties.Idempotency config = properties.getIdempotency();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .expireAfterWrite(config.getTtl())
+                .build();
+    }
+
+    public TransactionResponseDTO get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    public void put(String key, TransactionResponseDTO response) {
+        responses.put(key, response);
+    }
+}
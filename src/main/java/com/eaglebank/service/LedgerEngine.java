@@ -0,0 +1,110 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.exceptions.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Serializes balance mutations per account without a global lock.
+ * <p>
+ * Every account id is hashed onto one of N lanes. Each lane is drained by a single
+ * writer thread, so mutations for the same account are applied one at a time and
+ * in submission order, while mutations for accounts on different lanes run in parallel.
+ * Each lane queues at most {@code eaglebank.ledger.queue-capacity} mutations; a submission to a
+ * full lane fails fast with {@link ServiceUnavailableException}.
+ */
+@Slf4j
+@Component
+public class LedgerEngine implements DisposableBean {
+    private final boolean enabled;
+    private final ExecutorService[] lanes;
+    private final Thread[] laneThreads;
+
+    public LedgerEngine(EagleBankProperties properties) {
+        EagleBankProperties.Ledger config = properties.getLedger();
+        this.enabled = config.isEnabled();
+        int laneCount = config.getLanes() > 0 ? config.getLanes() : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ExecutorService[enabled ? laneCount : 0];
+        this.laneThreads = new Thread[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            final int lane = i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+                Thread thread = new Thread(runnable, "ledger-lane-" + lane);
+                thread.setDaemon(true);
+                laneThreads[lane] = thread;
+                return thread;
+            });
+        }
+        log.info("Ledger engine {} with {} lanes", enabled ? "enabled" : "disabled", lanes.length);
+    }
+
+    /**
+     * Runs the mutation on the lane owning the account and waits for its result.
+     * Exceptions thrown by the mutation are rethrown to the caller unchanged.
+     */
+    public <T> T execute(Long accountId, Supplier<T> mutation) {
+        if (!enabled) {
+            return mutation.get();
+        }
+        int lane = laneFor(accountId);
+        if (Thread.currentThread() == laneThreads[lane]) {
+            return mutation.get();
+        }
+        Future<T> result;
+        try {
+            result = lanes[lane].submit(mutation::get);
+        } catch (RejectedExecutionException e) {
+            log.debug("Ledger lane {} is full, rejecting mutation for account {}", lane, accountId);
+            throw new ServiceUnavailableException("Too many pending transactions for this account, please retry");
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Ledger mutation failed for account " + accountId, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for ledger lane", e);
+        }
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    int laneFor(Long accountId) {
+        int hash = Long.hashCode(accountId);
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash * 0x9E3779B9, lanes.length);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Ledger lane did not drain within 10 seconds");
+                lane.shutdownNow();
+            }
+        }
+    }
+}
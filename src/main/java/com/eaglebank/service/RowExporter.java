@@ -0,0 +1,75 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streaming shared by the exports: rows go to the response one at a time, as NDJSON or as
+ * CSV under a fixed header, so memory use does not depend on how many rows there are.
+ */
+final class RowExporter<T> {
+    private final ObjectWriter ndjsonWriter;
+    private final String csvHeader;
+    private final CsvRow<T> csvRow;
+
+    RowExporter(ObjectMapper objectMapper, Class<T> rowType, String csvHeader, CsvRow<T> csvRow) {
+        // The response stream belongs to the container, so the writer must not close it.
+        this.ndjsonWriter = objectMapper.writerFor(rowType)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.csvHeader = csvHeader;
+        this.csvRow = csvRow;
+    }
+
+    /**
+     * Writes every row and flushes; closing the stream of rows is left to the caller.
+     */
+    void export(Stream<T> rows, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            writeCsv(rows.iterator(), writer);
+        } else {
+            writeNdjson(rows.iterator(), writer);
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<T> rows, Writer writer) throws IOException {
+        if (!rows.hasNext()) {
+            return;
+        }
+        try (SequenceWriter sequence = ndjsonWriter.writeValues(writer)) {
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsv(Iterator<T> rows, Writer writer) throws IOException {
+        writer.write(csvHeader);
+        while (rows.hasNext()) {
+            csvRow.write(rows.next(), writer);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Writes one row's fields, without the line break.
+     */
+    @FunctionalInterface
+    interface CsvRow<T> {
+        void write(T row, Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,11 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface TransactionExportService {
+    void checkExportable(Long accountId, LocalDateTime from, LocalDateTime to);
+    void exportTransactions(Long accountId, LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) throws IOException;
+}
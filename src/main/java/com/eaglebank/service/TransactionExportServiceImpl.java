@@ -0,0 +1,78 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.exceptions.BadRequestException;
+import com.eaglebank.exceptions.NotFoundException;
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Writes an account's history to a response stream row by row, so memory use does not
+ * depend on how many transactions the account has.
+ */
+@Slf4j
+@Service
+public class TransactionExportServiceImpl implements TransactionExportService {
+    static final String CSV_HEADER = "id,timestamp,type,status,amount,description,bankAccountId\n";
+
+    private final TransactionRepository transactionRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final EagleBankProperties properties;
+    private final RowExporter<TransactionResponseDTO> exporter;
+
+    public TransactionExportServiceImpl(TransactionRepository transactionRepository,
+                                        BankAccountRepository bankAccountRepository,
+                                        EagleBankProperties properties,
+                                        ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.properties = properties;
+        this.exporter = new RowExporter<>(objectMapper, TransactionResponseDTO.class, CSV_HEADER, TransactionExportServiceImpl::writeCsvRow);
+    }
+
+    @Override
+    public void checkExportable(Long accountId, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (!bankAccountRepository.existsById(accountId)) {
+            throw new NotFoundException("Bank account not found");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTransactions(Long accountId, LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting transactions for account {} as {} from {} to {}", accountId, format, from, to);
+        try (Stream<TransactionResponseDTO> rows = transactionRepository.streamHistory(accountId, from, to, properties.getExport().getFetchSize())) {
+            exporter.export(rows, format, out);
+        }
+    }
+
+    private static void writeCsvRow(TransactionResponseDTO row, Writer writer) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getTimestamp()));
+        writer.write(',');
+        writer.write(row.getType().name());
+        writer.write(',');
+        writer.write(row.getStatus().name());
+        writer.write(',');
+        writer.write(row.getAmount().toPlainString());
+        writer.write(',');
+        CsvFields.write(row.getDescription(), writer);
+        writer.write(',');
+        writer.write(String.valueOf(row.getBankAccountId()));
+    }
+}
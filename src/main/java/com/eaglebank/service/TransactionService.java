@@ -1,12 +1,35 @@
 package com.eaglebank.service;
 
+import com.eaglebank.model.dto.BatchTransactionItemDTO;
+import com.eaglebank.model.dto.BatchTransactionResponseDTO;
+import com.eaglebank.model.dto.CursorPage;
+import com.eaglebank.model.dto.TransactionHistoryRequestDTO;
 import com.eaglebank.model.dto.TransactionRequestDTO;
 import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.model.dto.TransferResponseDTO;
 import java.util.List;
 
 public interface TransactionService {
-    TransactionResponseDTO deposit(Long accountId, TransactionRequestDTO requestDTO);
-    TransactionResponseDTO withdraw(Long accountId, TransactionRequestDTO requestDTO);
+    TransactionResponseDTO deposit(Long accountId, TransactionRequestDTO requestDTO, String idempotencyKey);
+    TransactionResponseDTO withdraw(Long accountId, TransactionRequestDTO requestDTO, String idempotencyKey);
+
+    default TransactionResponseDTO deposit(Long accountId, TransactionRequestDTO requestDTO) {
+        return deposit(accountId, requestDTO, null);
+    }
+
+    default TransactionResponseDTO withdraw(Long accountId, TransactionRequestDTO requestDTO) {
+        return withdraw(accountId, requestDTO, null);
+    }
+
+    TransferResponseDTO transfer(TransferRequestDTO requestDTO);
+    BatchTransactionResponseDTO submitBatch(List<BatchTransactionItemDTO> items);
     TransactionResponseDTO getTransactionById(Long transactionId);
-    List<TransactionResponseDTO> getTransactionsForAccount(Long accountId);
+    CursorPage<TransactionResponseDTO> getTransactionsForAccount(Long accountId, TransactionHistoryRequestDTO query);
+
+    /**
+     * Weak ETag covering every page of the account's history in every format, read without loading
+     * any transactions.
+     */
+    String getTransactionHistoryETag(Long accountId);
 } 
\ No newline at end of file
@@ -1,116 +1,592 @@
 package com.eaglebank.service;
 
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.journal.JournalEvent;
+import com.eaglebank.journal.TransactionJournal;
+import com.eaglebank.mapper.TransactionMapper;
+import com.eaglebank.metrics.BankingMetrics;
 import com.eaglebank.model.*;
+import com.eaglebank.model.dto.BatchTransactionItemDTO;
+import com.eaglebank.model.dto.BatchTransactionResponseDTO;
+import com.eaglebank.model.dto.BatchTransactionResultDTO;
+import com.eaglebank.model.dto.CursorPage;
+import com.eaglebank.model.dto.TransactionHistoryRequestDTO;
 import com.eaglebank.model.dto.TransactionRequestDTO;
 import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.model.dto.TransferResponseDTO;
 import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionCursor;
 import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.exceptions.BadRequestException;
+import com.eaglebank.exceptions.ConflictException;
 import com.eaglebank.exceptions.NotFoundException;
 import com.eaglebank.exceptions.InsufficientFundsException;
-import jakarta.transaction.Transactional;
+import com.eaglebank.exceptions.InvalidAmountException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
     private final TransactionRepository transactionRepository;
     private final BankAccountRepository bankAccountRepository;
+    private final LedgerEngine ledgerEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final EagleBankProperties properties;
+    private final CacheInvalidator cacheInvalidator;
+    private final BankingMetrics metrics;
+    private final IdempotencyStore idempotencyStore;
+    private final TransactionJournal transactionJournal;
 
+    /**
+     * Deposits are applied on the ledger lane owning the account, each in its own
+     * database transaction, so concurrent deposits to one account cannot lose updates.
+     */
     @Override
-    @Transactional
-    public TransactionResponseDTO deposit(Long accountId, TransactionRequestDTO requestDTO) {
-        if (requestDTO.getAmount() == null || requestDTO.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+    public TransactionResponseDTO deposit(Long accountId, TransactionRequestDTO requestDTO, String idempotencyKey) {
+        if (requestDTO.getAmount() == null || requestDTO.getAmount().signum() <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
-        BankAccount account = bankAccountRepository.findById(accountId)
+        checkIdempotencyKey(idempotencyKey);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            TransactionResponseDTO response = transactionJournal.isEnabled()
+                    ? applyJournaled(accountId, TransactionType.DEPOSIT, requestDTO, idempotencyKey)
+                    : applyOnce(accountId, TransactionType.DEPOSIT, requestDTO.getAmount(), idempotencyKey,
+                            () -> transactionTemplate.execute(status -> applyDeposit(accountId, requestDTO, idempotencyKey)));
+            success = true;
+            return response;
+        } finally {
+            metrics.record(BankingMetrics.Operation.DEPOSIT, start, success);
+        }
+    }
+
+    @Override
+    public TransactionResponseDTO withdraw(Long accountId, TransactionRequestDTO requestDTO, String idempotencyKey) {
+        BigDecimal amount = requestDTO.getAmount();
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive");
+        }
+        checkIdempotencyKey(idempotencyKey);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            TransactionResponseDTO response = transactionJournal.isEnabled()
+                    ? applyJournaled(accountId, TransactionType.WITHDRAWAL, requestDTO, idempotencyKey)
+                    : applyOnce(accountId, TransactionType.WITHDRAWAL, amount, idempotencyKey,
+                            () -> transactionTemplate.execute(status -> applyWithdrawal(accountId, requestDTO, idempotencyKey)));
+            success = true;
+            return response;
+        } finally {
+            metrics.record(BankingMetrics.Operation.WITHDRAW, start, success);
+        }
+    }
+
+    /**
+     * Debits one account and credits the other in a single database transaction. Transfers
+     * bypass the ledger lanes: both rows are locked with SELECT ... FOR UPDATE, lower id first,
+     * so concurrent transfers in opposite directions queue behind each other instead of deadlocking.
+     */
+    @Override
+    public TransferResponseDTO transfer(TransferRequestDTO requestDTO) {
+        if (requestDTO.getAmount() == null || requestDTO.getAmount().signum() <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (requestDTO.getFromAccountId().equals(requestDTO.getToAccountId())) {
+            throw new BadRequestException("Cannot transfer to the same account");
+        }
+        checkNotJournaled("Transfers");
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            TransferResponseDTO response = transactionTemplate.execute(status -> applyTransfer(requestDTO));
+            cacheInvalidator.evictBankAccounts(List.of(requestDTO.getFromAccountId(), requestDTO.getToAccountId()));
+            metrics.recordCompleted(TransactionType.TRANSFER_OUT, response.getDebit().getAmount());
+            metrics.recordCompleted(TransactionType.TRANSFER_IN, response.getCredit().getAmount());
+            success = true;
+            return response;
+        } finally {
+            metrics.record(BankingMetrics.Operation.TRANSFER, start, success);
+        }
+    }
+
+    /**
+     * Runs the mutation on the account's lane unless the idempotency key has been seen before.
+     * <p>
+     * A repeat found in the {@link IdempotencyStore} returns before reaching the lane, and is
+     * checked again on the lane in case the first request was still running. Once an entry has
+     * expired or the application has restarted, the unique key column rejects the second insert.
+     * That rolls back the whole mutation, balance change included, and the stored
+     * transaction is returned instead.
+     */
+    private TransactionResponseDTO applyOnce(Long accountId, TransactionType type, BigDecimal amount, String idempotencyKey,
+                                             Supplier<TransactionResponseDTO> mutation) {
+        if (idempotencyKey == null) {
+            return applied(accountId, ledgerEngine.execute(accountId, mutation));
+        }
+        TransactionResponseDTO seen = idempotencyStore.get(idempotencyKey);
+        if (seen != null) {
+            return replay(seen, accountId, type, amount);
+        }
+        return ledgerEngine.execute(accountId, () -> {
+            TransactionResponseDTO cached = idempotencyStore.get(idempotencyKey);
+            if (cached != null) {
+                return replay(cached, accountId, type, amount);
+            }
+            TransactionResponseDTO response;
+            try {
+                response = mutation.get();
+            } catch (DataIntegrityViolationException e) {
+                TransactionResponseDTO existing = transactionRepository.findResponseByIdempotencyKey(idempotencyKey)
+                        .orElseThrow(() -> e);
+                idempotencyStore.put(idempotencyKey, existing);
+                return replay(existing, accountId, type, amount);
+            }
+            idempotencyStore.put(idempotencyKey, response);
+            return applied(accountId, response);
+        });
+    }
+
+    /**
+     * Journal mode: the lane checks the in-memory balance and appends the event, and the caller
+     * waits for the journal's group commit after leaving the lane, so the lane can move on and
+     * concurrent mutations share one fsync. The database rows are written later by the projector.
+     * <p>
+     * A key is reserved in the journal before the lane is reached, so the same key sent to two
+     * accounts at once is appended only once. No database lookup is needed: until its row is
+     * projected the key is held by the journal, and after that by the {@link IdempotencyStore}.
+     */
+    private TransactionResponseDTO applyJournaled(Long accountId, TransactionType type, TransactionRequestDTO requestDTO,
+                                                  String idempotencyKey) {
+        if (idempotencyKey != null) {
+            TransactionResponseDTO seen = reserveKey(idempotencyKey);
+            if (seen != null) {
+                return replay(seen, accountId, type, requestDTO.getAmount());
+            }
+        }
+        JournalEvent event;
+        try {
+            event = ledgerEngine.execute(accountId, () -> {
+                Money balance = transactionJournal.balanceOf(accountId);
+                Money amount = Money.of(requestDTO.getAmount(), balance.getScale());
+                if (type == TransactionType.WITHDRAWAL && balance.isLessThan(amount)) {
+                    metrics.recordInsufficientFunds();
+                    throw new InsufficientFundsException("Insufficient funds: cannot withdraw " + requestDTO.getAmount()
+                            + " from account with balance " + balance.toBigDecimal());
+                }
+                return transactionJournal.append(accountId, type, amount, requestDTO.getDescription(), idempotencyKey);
+            });
+        } catch (RuntimeException e) {
+            if (idempotencyKey != null) {
+                transactionJournal.release(idempotencyKey);
+            }
+            throw e;
+        }
+        transactionJournal.awaitDurable(event);
+        TransactionResponseDTO response = TransactionMapper.toResponseDTO(event);
+        metrics.recordCompleted(type, response.getAmount());
+        return response;
+    }
+
+    /**
+     * Reserves the key for this request and returns null, or returns the response of the request
+     * that used it first. A response still held by the journal is only returned once durable.
+     */
+    private TransactionResponseDTO reserveKey(String idempotencyKey) {
+        while (true) {
+            TransactionResponseDTO stored = idempotencyStore.get(idempotencyKey);
+            if (stored != null) {
+                return stored;
+            }
+            CompletableFuture<JournalEvent> holder = transactionJournal.reserve(idempotencyKey);
+            if (holder == null) {
+                // The projector stores a key before releasing it, so it may have done both since the lookup above.
+                stored = idempotencyStore.get(idempotencyKey);
+                if (stored != null) {
+                    transactionJournal.release(idempotencyKey);
+                }
+                return stored;
+            }
+            JournalEvent first = holder.exceptionally(e -> null).join();
+            if (first != null) {
+                transactionJournal.awaitDurable(first);
+                return TransactionMapper.toResponseDTO(first);
+            }
+            // The first request ended without appending, so the key is free again.
+        }
+    }
+
+    private void checkNotJournaled(String operation) {
+        if (transactionJournal.isEnabled()) {
+            throw new BadRequestException(operation + " are not available while the transaction journal is enabled");
+        }
+    }
+
+    private TransactionResponseDTO applied(Long accountId, TransactionResponseDTO response) {
+        cacheInvalidator.evictBankAccount(accountId);
+        metrics.recordCompleted(response.getType(), response.getAmount());
+        return response;
+    }
+
+    /**
+     * A key may only be replayed for the request it was first used with.
+     */
+    private TransactionResponseDTO replay(TransactionResponseDTO original, Long accountId, TransactionType type, BigDecimal amount) {
+        if (!original.getBankAccountId().equals(accountId) || original.getType() != type
+                || original.getAmount().compareTo(amount) != 0) {
+            throw new ConflictException("Idempotency key was already used for a different request");
+        }
+        metrics.recordIdempotentReplay();
+        return original;
+    }
+
+    private void checkIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+    }
+
+    private TransactionResponseDTO applyDeposit(Long accountId, TransactionRequestDTO requestDTO, String idempotencyKey) {
+        if (isAtomicMode()) {
+            return applyAtomicDeposit(accountId, requestDTO, idempotencyKey);
+        }
+        BankAccount account = bankAccountRepository.findByIdForUpdate(accountId)
                 .orElse(null);
         if (account == null) {
             throw new NotFoundException("Bank account not found");
         }
-        account.setBalance(account.getBalance().add(requestDTO.getAmount()));
+        int scale = Money.scaleOf(account.getCurrency());
+        Money amount = Money.of(requestDTO.getAmount(), scale);
+        account.setBalance(Money.of(account.getBalance(), scale).plus(amount).toBigDecimal());
+        account.setLedgerVersion(account.getLedgerVersion() + 1);
         bankAccountRepository.save(account);
-        Transaction transaction = Transaction.builder()
-                .bankAccount(account)
-                .amount(requestDTO.getAmount())
-                .type(TransactionType.DEPOSIT)
+        return TransactionMapper.toResponseDTO(record(account, amount.toBigDecimal(), TransactionType.DEPOSIT,
+                TransactionStatus.COMPLETED, requestDTO.getDescription(), idempotencyKey));
+    }
+
+    private TransactionResponseDTO applyWithdrawal(Long accountId, TransactionRequestDTO requestDTO, String idempotencyKey) {
+        if (isAtomicMode()) {
+            return applyAtomicWithdrawal(accountId, requestDTO, idempotencyKey);
+        }
+        BankAccount account = bankAccountRepository.findByIdForUpdate(accountId)
+                .orElse(null);
+        if (account == null) {
+            throw new NotFoundException("Bank account not found");
+        }
+        int scale = Money.scaleOf(account.getCurrency());
+        Money amount = Money.of(requestDTO.getAmount(), scale);
+        Money balance = Money.of(account.getBalance(), scale);
+        if (balance.isLessThan(amount)) {
+            throw insufficientFunds(account, requestDTO, account.getBalance());
+        }
+        account.setBalance(balance.minus(amount).toBigDecimal());
+        account.setLedgerVersion(account.getLedgerVersion() + 1);
+        bankAccountRepository.save(account);
+        return TransactionMapper.toResponseDTO(record(account, amount.toBigDecimal(), TransactionType.WITHDRAWAL,
+                TransactionStatus.COMPLETED, requestDTO.getDescription(), idempotencyKey));
+    }
+
+    /**
+     * Both legs need the other's id, so the debit row is written once more after the credit row
+     * has its id: two INSERTs and one UPDATE, flushed together at commit.
+     */
+    private TransferResponseDTO applyTransfer(TransferRequestDTO requestDTO) {
+        Long fromId = requestDTO.getFromAccountId();
+        Long toId = requestDTO.getToAccountId();
+        BankAccount first = lockAccount(Math.min(fromId, toId));
+        BankAccount second = lockAccount(Math.max(fromId, toId));
+        BankAccount from = first.getId().equals(fromId) ? first : second;
+        BankAccount to = from == first ? second : first;
+        if (!from.getCurrency().equals(to.getCurrency())) {
+            throw new BadRequestException("Cannot transfer between accounts in different currencies");
+        }
+        int scale = Money.scaleOf(from.getCurrency());
+        Money amount = Money.of(requestDTO.getAmount(), scale);
+        Money fromBalance = Money.of(from.getBalance(), scale);
+        if (fromBalance.isLessThan(amount)) {
+            metrics.recordInsufficientFunds();
+            throw new InsufficientFundsException("Insufficient funds: cannot transfer " + requestDTO.getAmount()
+                    + " from account with balance " + from.getBalance());
+        }
+        from.setBalance(fromBalance.minus(amount).toBigDecimal());
+        to.setBalance(Money.of(to.getBalance(), scale).plus(amount).toBigDecimal());
+        from.setLedgerVersion(from.getLedgerVersion() + 1);
+        to.setLedgerVersion(to.getLedgerVersion() + 1);
+
+        Transaction debit = record(from, amount.toBigDecimal(), TransactionType.TRANSFER_OUT,
+                TransactionStatus.COMPLETED, requestDTO.getDescription(), null);
+        Transaction credit = transactionRepository.save(Transaction.builder()
+                .bankAccount(to)
+                .amount(amount.toBigDecimal())
+                .type(TransactionType.TRANSFER_IN)
                 .status(TransactionStatus.COMPLETED)
                 .description(requestDTO.getDescription())
+                .linkedTransactionId(debit.getId())
+                .build());
+        debit.setLinkedTransactionId(credit.getId());
+        return TransferResponseDTO.builder()
+                .debit(TransactionMapper.toResponseDTO(debit))
+                .credit(TransactionMapper.toResponseDTO(credit))
                 .build();
-        transaction = transactionRepository.save(transaction);
-        return toResponseDTO(transaction);
     }
 
-    @Override
-    @Transactional
-    public TransactionResponseDTO withdraw(Long accountId, TransactionRequestDTO requestDTO) {
+    private BankAccount lockAccount(Long accountId) {
+        return bankAccountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new NotFoundException("Bank account not found with id: " + accountId));
+    }
+
+    /**
+     * One UPDATE plus one INSERT; the account is referenced by id and never loaded. The amount's
+     * decimal places are checked against the currency scale stored on the row, inside the UPDATE.
+     */
+    private TransactionResponseDTO applyAtomicDeposit(Long accountId, TransactionRequestDTO requestDTO, String idempotencyKey) {
         BigDecimal amount = requestDTO.getAmount();
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Withdrawal amount must be positive");
-        }
-        BankAccount account = bankAccountRepository.findById(accountId)
-                .orElse(null);
-        if (account == null) {
+        if (bankAccountRepository.creditBalance(accountId, amount, Money.decimalPlaces(amount), LocalDateTime.now()) == 0) {
+            checkAtomicAmount(accountId, amount);
             throw new NotFoundException("Bank account not found");
         }
-        Transaction transaction;
-        if (account.getBalance().compareTo(amount) < 0) {
-            // Record failed transaction
-            transaction = Transaction.builder()
+        return TransactionMapper.toResponseDTO(record(bankAccountRepository.getReferenceById(accountId), amount,
+                TransactionType.DEPOSIT, TransactionStatus.COMPLETED, requestDTO.getDescription(), idempotencyKey));
+    }
+
+    /**
+     * The balance and scale checks happen inside the UPDATE's WHERE clause. Only a rejected
+     * withdrawal reads the account, to tell which check failed.
+     */
+    private TransactionResponseDTO applyAtomicWithdrawal(Long accountId, TransactionRequestDTO requestDTO, String idempotencyKey) {
+        BigDecimal amount = requestDTO.getAmount();
+        BankAccount account = bankAccountRepository.getReferenceById(accountId);
+        if (bankAccountRepository.debitBalanceIfSufficient(accountId, amount, Money.decimalPlaces(amount), LocalDateTime.now()) == 0) {
+            checkAtomicAmount(accountId, amount);
+            BigDecimal balance = bankAccountRepository.findBalanceById(accountId)
+                    .orElseThrow(() -> new NotFoundException("Bank account not found"));
+            throw insufficientFunds(account, requestDTO, balance);
+        }
+        return TransactionMapper.toResponseDTO(record(account, amount, TransactionType.WITHDRAWAL,
+                TransactionStatus.COMPLETED, requestDTO.getDescription(), idempotencyKey));
+    }
+
+    /**
+     * After an UPDATE changed no row: throws if the account is missing or its currency cannot
+     * hold the amount.
+     */
+    private void checkAtomicAmount(Long accountId, BigDecimal amount) {
+        String currency = bankAccountRepository.findCurrencyById(accountId)
+                .orElseThrow(() -> new NotFoundException("Bank account not found"));
+        Money.of(amount, Money.scaleOf(currency));
+    }
+
+    /**
+     * Applies the items in chunks of {@code eaglebank.batch.chunk-size}, one database transaction
+     * per chunk. Business failures (unknown account, insufficient funds) are reported per item and
+     * do not roll back the rest of the chunk; failed withdrawals are recorded as FAILED rows.
+     * Batches take row locks in account id order instead of going through the ledger lanes.
+     */
+    @Override
+    public BatchTransactionResponseDTO submitBatch(List<BatchTransactionItemDTO> items) {
+        checkNotJournaled("Batches");
+        EagleBankProperties.Batch config = properties.getBatch();
+        if (items.size() > config.getMaxItems()) {
+            throw new BadRequestException("Batch exceeds the maximum of " + config.getMaxItems() + " items");
+        }
+        List<BatchTransactionResultDTO> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += config.getChunkSize()) {
+            int chunkStart = from;
+            List<BatchTransactionItemDTO> chunk = items.subList(from, Math.min(items.size(), from + config.getChunkSize()));
+            List<BatchTransactionResultDTO> chunkResults = transactionTemplate.execute(status -> applyChunk(chunkStart, chunk));
+            cacheInvalidator.evictBankAccounts(chunk.stream().map(BatchTransactionItemDTO::getAccountId).distinct().toList());
+            for (BatchTransactionResultDTO result : chunkResults) {
+                if (result.getStatus() == TransactionStatus.COMPLETED) {
+                    metrics.recordCompleted(result.getTransaction().getType(), result.getTransaction().getAmount());
+                }
+            }
+            results.addAll(chunkResults);
+        }
+        int succeeded = (int) results.stream().filter(r -> r.getStatus() == TransactionStatus.COMPLETED).count();
+        return BatchTransactionResponseDTO.builder()
+                .total(items.size())
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    private List<BatchTransactionResultDTO> applyChunk(int offset, List<BatchTransactionItemDTO> chunk) {
+        Set<Long> accountIds = new HashSet<>();
+        for (BatchTransactionItemDTO item : chunk) {
+            accountIds.add(item.getAccountId());
+        }
+        Map<Long, BankAccount> accounts = new HashMap<>();
+        Map<Long, Money> balances = new HashMap<>();
+        for (BankAccount account : bankAccountRepository.findAllByIdForUpdate(accountIds)) {
+            accounts.put(account.getId(), account);
+            balances.put(account.getId(), Money.of(account.getBalance(), Money.scaleOf(account.getCurrency())));
+        }
+
+        List<Transaction> transactions = new ArrayList<>(chunk.size());
+        List<BatchTransactionResultDTO> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BatchTransactionItemDTO item = chunk.get(i);
+            BatchTransactionResultDTO.BatchTransactionResultDTOBuilder result = BatchTransactionResultDTO.builder()
+                    .index(offset + i)
+                    .accountId(item.getAccountId())
+                    .status(TransactionStatus.FAILED);
+            BankAccount account = accounts.get(item.getAccountId());
+            if (account == null) {
+                results.add(result.error("Bank account not found with id: " + item.getAccountId()).build());
+                transactions.add(null);
+                continue;
+            }
+            Money balance = balances.get(account.getId());
+            Money amount;
+            try {
+                amount = Money.of(item.getAmount(), balance.getScale());
+            } catch (InvalidAmountException e) {
+                results.add(result.error(e.getMessage()).build());
+                transactions.add(null);
+                continue;
+            }
+            Transaction transaction = Transaction.builder()
                     .bankAccount(account)
-                    .amount(amount)
-                    .type(TransactionType.WITHDRAWAL)
-                    .status(TransactionStatus.FAILED)
-                    .description("Failed withdrawal: insufficient funds. " + (requestDTO.getDescription() != null ? requestDTO.getDescription() : ""))
+                    .amount(amount.toBigDecimal())
+                    .type(item.getType())
+                    .status(TransactionStatus.COMPLETED)
+                    .description(item.getDescription())
                     .build();
-            transaction = transactionRepository.save(transaction);
-            throw new InsufficientFundsException("Insufficient funds: cannot withdraw " + amount + " from account with balance " + account.getBalance());
+            if (item.getType() == TransactionType.DEPOSIT) {
+                balances.put(account.getId(), balance.plus(amount));
+                result.status(TransactionStatus.COMPLETED);
+            } else if (item.getType() == TransactionType.WITHDRAWAL && !balance.isLessThan(amount)) {
+                balances.put(account.getId(), balance.minus(amount));
+                result.status(TransactionStatus.COMPLETED);
+            } else if (item.getType() == TransactionType.WITHDRAWAL) {
+                metrics.recordInsufficientFunds();
+                transaction.setStatus(TransactionStatus.FAILED);
+                transaction.setDescription("Failed withdrawal: insufficient funds. " + (item.getDescription() != null ? item.getDescription() : ""));
+                result.error("Insufficient funds: cannot withdraw " + item.getAmount() + " from account with balance " + balance.toBigDecimal());
+            } else {
+                results.add(result.error("Unsupported transaction type: " + item.getType()).build());
+                transactions.add(null);
+                continue;
+            }
+            results.add(result.build());
+            transactions.add(transaction);
         }
-        account.setBalance(account.getBalance().subtract(amount));
-        bankAccountRepository.save(account);
-        transaction = Transaction.builder()
+
+        for (BankAccount account : accounts.values()) {
+            account.setBalance(balances.get(account.getId()).toBigDecimal());
+        }
+        for (Transaction transaction : transactions) {
+            if (transaction != null) {
+                BankAccount account = transaction.getBankAccount();
+                account.setLedgerVersion(account.getLedgerVersion() + 1);
+            }
+        }
+        transactionRepository.saveAll(transactions.stream().filter(Objects::nonNull).toList());
+        for (int i = 0; i < results.size(); i++) {
+            if (transactions.get(i) != null) {
+                results.get(i).setTransaction(TransactionMapper.toResponseDTO(transactions.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private InsufficientFundsException insufficientFunds(BankAccount account, TransactionRequestDTO requestDTO, BigDecimal balance) {
+        metrics.recordInsufficientFunds();
+        // Record failed transaction
+        record(account, requestDTO.getAmount(), TransactionType.WITHDRAWAL, TransactionStatus.FAILED,
+                "Failed withdrawal: insufficient funds. " + (requestDTO.getDescription() != null ? requestDTO.getDescription() : ""), null);
+        return new InsufficientFundsException("Insufficient funds: cannot withdraw " + requestDTO.getAmount() + " from account with balance " + balance);
+    }
+
+    private Transaction record(BankAccount account, BigDecimal amount, TransactionType type,
+                               TransactionStatus status, String description, String idempotencyKey) {
+        Transaction transaction = Transaction.builder()
                 .bankAccount(account)
                 .amount(amount)
-                .type(TransactionType.WITHDRAWAL)
-                .status(TransactionStatus.COMPLETED)
-                .description(requestDTO.getDescription())
+                .type(type)
+                .status(status)
+                .description(description)
+                .idempotencyKey(idempotencyKey)
                 .build();
-        transaction = transactionRepository.save(transaction);
-        return toResponseDTO(transaction);
+        return transactionRepository.save(transaction);
+    }
+
+    private boolean isAtomicMode() {
+        return properties.getLedger().getBalanceUpdateMode() == EagleBankProperties.BalanceUpdateMode.ATOMIC;
     }
 
     @Override
     public TransactionResponseDTO getTransactionById(Long transactionId) {
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new NotFoundException("Transaction not found with id: " + transactionId));
-        return toResponseDTO(transaction);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            TransactionResponseDTO response = transactionRepository.findResponseById(transactionId)
+                    .orElseThrow(() -> new NotFoundException("Transaction not found with id: " + transactionId));
+            success = true;
+            return response;
+        } finally {
+            metrics.record(BankingMetrics.Operation.LOOKUP, start, success);
+        }
     }
 
+    /**
+     * Keyset pagination on {@code (timestamp, id)}: every page is a bounded index seek,
+     * so the cost does not grow with how deep the client has paged.
+     */
     @Override
-    public List<TransactionResponseDTO> getTransactionsForAccount(Long accountId) {
-        BankAccount account = bankAccountRepository.findById(accountId)
-                .orElse(null);
-        if (account == null) {
+    public CursorPage<TransactionResponseDTO> getTransactionsForAccount(Long accountId, TransactionHistoryRequestDTO query) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            CursorPage<TransactionResponseDTO> page = loadHistoryPage(accountId, query);
+            success = true;
+            return page;
+        } finally {
+            metrics.record(BankingMetrics.Operation.HISTORY, start, success);
+        }
+    }
+
+    /**
+     * Every ledger row that commits for the account bumps its ledger version, including the FAILED
+     * rows a batch keeps.
+     */
+    @Override
+    public String getTransactionHistoryETag(Long accountId) {
+        return bankAccountRepository.findLedgerVersionById(accountId)
+                .map(version -> "W/\"" + accountId + "-" + version + "\"")
+                .orElseThrow(() -> new NotFoundException("Bank account not found"));
+    }
+
+    private CursorPage<TransactionResponseDTO> loadHistoryPage(Long accountId, TransactionHistoryRequestDTO query) {
+        if (!bankAccountRepository.existsById(accountId)) {
             throw new NotFoundException("Bank account not found");
         }
-        return transactionRepository.findByBankAccount(account)
-                .stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
-    }
-
-    private TransactionResponseDTO toResponseDTO(Transaction transaction) {
-        return new TransactionResponseDTO(
-                transaction.getId(),
-                transaction.getAmount(),
-                transaction.getType(),
-                transaction.getStatus(),
-                transaction.getDescription(),
-                transaction.getTimestamp(),
-                transaction.getBankAccount().getId()
-        );
+        TransactionCursor after = query.getAfter() != null ? TransactionCursor.decode(query.getAfter()) : null;
+        List<TransactionResponseDTO> rows = transactionRepository.findHistoryPage(accountId, query, after, query.getLimit() + 1);
+        String nextCursor = null;
+        if (rows.size() > query.getLimit()) {
+            rows = rows.subList(0, query.getLimit());
+            TransactionResponseDTO last = rows.get(rows.size() - 1);
+            nextCursor = new TransactionCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+    void exportUsers(ExportFormat format, OutputStream out) throws IOException;
+}
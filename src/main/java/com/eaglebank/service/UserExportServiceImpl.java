@@ -0,0 +1,63 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.model.dto.UserResponseDTO;
+import com.eaglebank.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.stream.Stream;
+
+/**
+ * Writes every user to a response stream row by row, so memory use does not
+ * depend on how many users exist.
+ */
+@Slf4j
+@Service
+public class UserExportServiceImpl implements UserExportService {
+    static final String CSV_HEADER = "id,firstName,lastName,email,phoneNumber,address,dateOfBirth\n";
+
+    private final UserRepository userRepository;
+    private final EagleBankProperties properties;
+    private final RowExporter<UserResponseDTO> exporter;
+
+    public UserExportServiceImpl(UserRepository userRepository,
+                                 EagleBankProperties properties,
+                                 ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.exporter = new RowExporter<>(objectMapper, UserResponseDTO.class, CSV_HEADER, UserExportServiceImpl::writeCsvRow);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting users as {}", format);
+        try (Stream<UserResponseDTO> rows = userRepository.streamResponses(properties.getExport().getFetchSize())) {
+            exporter.export(rows, format, out);
+        }
+    }
+
+    private static void writeCsvRow(UserResponseDTO row, Writer writer) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        CsvFields.write(row.getFirstName(), writer);
+        writer.write(',');
+        CsvFields.write(row.getLastName(), writer);
+        writer.write(',');
+        CsvFields.write(row.getEmail(), writer);
+        writer.write(',');
+        CsvFields.write(row.getPhoneNumber(), writer);
+        writer.write(',');
+        CsvFields.write(row.getAddress(), writer);
+        writer.write(',');
+        if (row.getDateOfBirth() != null) {
+            writer.write(row.getDateOfBirth().toString());
+        }
+    }
+}
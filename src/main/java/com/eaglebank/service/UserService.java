@@ -1,12 +1,24 @@
 package com.eaglebank.service;
 
 import com.eaglebank.model.User;
-import java.util.List;
+import com.eaglebank.model.dto.CursorPage;
+import com.eaglebank.model.dto.UserListRequestDTO;
+import com.eaglebank.model.dto.UserResponseDTO;
 
 public interface UserService {
     User saveUser(User user);
     User updateUser(Long id, User user);
-    User getUserById(Long id);
-    List<User> getAllUsers();
+
+    /**
+     * The user as served to clients. Cached as this detached copy rather than as the entity,
+     * so a cached entry never shares state with a persistence context.
+     */
+    UserResponseDTO getUserById(Long id);
+
+    /**
+     * The user entity to link an account to, read from the database rather than the cache.
+     */
+    User getOwner(Long id);
+    CursorPage<UserResponseDTO> getUsers(UserListRequestDTO query);
     void deleteUserById(Long id);
 } 
\ No newline at end of file
@@ -1,8 +1,17 @@
 package com.eaglebank.service;
 
+import com.eaglebank.config.CacheConfig;
+import com.eaglebank.mapper.UserMapper;
 import com.eaglebank.model.User;
+import com.eaglebank.model.dto.CursorPage;
+import com.eaglebank.model.dto.UserListRequestDTO;
+import com.eaglebank.model.dto.UserResponseDTO;
+import com.eaglebank.repository.UserCursor;
 import com.eaglebank.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +33,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public User updateUser(Long id, User user) {
         log.info("Updating user with id {}: {}", id, user);
         Optional<User> existingUserOpt = userRepository.findById(id);
@@ -45,19 +55,39 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public User getUserById(Long id) {
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
+    public UserResponseDTO getUserById(Long id) {
         log.info("Fetching user with id: {}", id);
         return userRepository.findById(id)
+                .map(UserMapper::toResponseDTO)
                 .orElseThrow(() -> new NotFoundException("User not found with id: " + id));
     }
 
     @Override
-    public List<User> getAllUsers() {
-        log.info("Fetching all users");
-        return userRepository.findAll();
+    public User getOwner(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("User not found with id: " + id));
+    }
+
+    /**
+     * Reads one more row than requested to learn whether another page exists;
+     * the cursor holds the id of the last user returned.
+     */
+    @Override
+    public CursorPage<UserResponseDTO> getUsers(UserListRequestDTO query) {
+        log.info("Fetching users after {} (limit {})", query.getAfter(), query.getLimit());
+        long afterId = query.getAfter() != null ? UserCursor.decode(query.getAfter()).id() : 0L;
+        List<UserResponseDTO> rows = userRepository.findResponsesAfter(afterId, Limit.of(query.getLimit() + 1));
+        String nextCursor = null;
+        if (rows.size() > query.getLimit()) {
+            rows = rows.subList(0, query.getLimit());
+            nextCursor = new UserCursor(rows.get(rows.size() - 1).getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteUserById(Long id) {
         log.info("Deleting user with id: {}", id);
         if (!userRepository.existsById(id)) {
@@ -0,0 +1,99 @@
+package com.eaglebank.config;
+
+import jakarta.servlet.FilterChain;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Open-loop load at three times what the backend can serve, with and without admission control.
+ * The backend is simulated: {@value #CAPACITY} requests at a time, {@value #SERVICE_MILLIS} ms each,
+ * with everyone else queueing for a slot as they would for a database connection. Requests arrive
+ * at a fixed rate whatever the latency, so without shedding the queue, and the latency, grows
+ * for as long as the overload lasts.
+ * <p>
+ * Run with {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups=none -Dtest=AdmissionControlLoadBenchmarkTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class AdmissionControlLoadBenchmarkTest {
+    private static final int CAPACITY = 10;
+    private static final int SERVICE_MILLIS = 10;
+    private static final int OVERLOAD = 3;
+    private static final int SECONDS = 5;
+    private static final Duration THRESHOLD = Duration.ofMillis(50);
+
+    @Test
+    void compareTailLatencyUnderOverload() throws Exception {
+        Stats unlimited = run(false);
+        Stats limited = run(true);
+        log.info("{}x overload, no admission control: {}", OVERLOAD, unlimited);
+        log.info("{}x overload, admission control:    {}", OVERLOAD, limited);
+        assertTrue(limited.p99Millis < THRESHOLD.toMillis() * 4, "admitted p99 should stay near the latency threshold");
+        assertTrue(limited.p99Millis * 10 < unlimited.p99Millis, "shedding should cut p99 by an order of magnitude");
+    }
+
+    private Stats run(boolean limited) throws Exception {
+        Semaphore backend = new Semaphore(CAPACITY, true);
+        FilterChain database = (request, response) -> {
+            backend.acquireUninterruptibly();
+            try {
+                TimeUnit.MILLISECONDS.sleep(SERVICE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                backend.release();
+            }
+        };
+        AdaptiveConcurrencyLimiter writes = new AdaptiveConcurrencyLimiter(limited ? 50 : Integer.MAX_VALUE,
+                limited ? CAPACITY : Integer.MAX_VALUE, Integer.MAX_VALUE, THRESHOLD, 0.9);
+        AdmissionControlFilter filter = new AdmissionControlFilter(writes, writes, Duration.ofSeconds(1));
+
+        int perMillisecond = OVERLOAD * CAPACITY / SERVICE_MILLIS;
+        int requests = SECONDS * 1000 * perMillisecond;
+        long[] latencies = new long[requests];
+        AtomicInteger admitted = new AtomicInteger();
+        long began = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                long due = began + TimeUnit.MILLISECONDS.toNanos(i / perMillisecond);
+                while (System.nanoTime() < due) {
+                    Thread.onSpinWait();
+                }
+                clients.submit(() -> {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    long sent = System.nanoTime();
+                    filter.doFilter(new MockHttpServletRequest("POST", "/v1/transfers"), response, database);
+                    if (response.getStatus() == 200) {
+                        latencies[admitted.getAndIncrement()] = System.nanoTime() - sent;
+                    }
+                    return null;
+                });
+            }
+        }
+        int served = admitted.get();
+        long[] sorted = Arrays.copyOf(latencies, served);
+        Arrays.sort(sorted);
+        return new Stats(served, requests - served, sorted[served / 2] / 1_000_000.0,
+                sorted[(int) (served * 0.99)] / 1_000_000.0, writes.getLimit());
+    }
+
+    private record Stats(int served, int rejected, double p50Millis, double p99Millis, int finalLimit) {
+        @Override
+        public String toString() {
+            return String.format("%d served, %d rejected, p50 %.1f ms, p99 %.1f ms, final limit %d",
+                    served, rejected, p50Millis, p99Millis, finalLimit);
+        }
+    }
+}
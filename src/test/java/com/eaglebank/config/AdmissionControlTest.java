@@ -0,0 +1,79 @@
+package com.eaglebank.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlTest {
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+
+    @Test
+    void testLimitGrowsWhileFastAndUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 8, THRESHOLD, 0.5);
+        for (int i = 0; i < 100; i++) {
+            fill(limiter);
+            while (limiter.getInFlight() > 0) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+            }
+        }
+        assertEquals(8, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testLimitBacksOffOncePerThresholdOnSlowResponses() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 8, THRESHOLD, 0.5);
+        fill(limiter);
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        for (int i = 0; i < 8; i++) {
+            limiter.release(THRESHOLD.toNanos() * 2, false);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void testDroppedRequestBacksOffToMinimum() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 8, Duration.ofMillis(1), 0.5);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(0, true);
+            TimeUnit.MILLISECONDS.sleep(2);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testFilterRejectsWritesWhenFullButStillAdmitsReads() throws Exception {
+        AdaptiveConcurrencyLimiter reads = new AdaptiveConcurrencyLimiter(1, 1, 1, THRESHOLD, 0.5);
+        AdaptiveConcurrencyLimiter writes = new AdaptiveConcurrencyLimiter(1, 1, 1, THRESHOLD, 0.5);
+        AdmissionControlFilter filter = new AdmissionControlFilter(reads, writes, Duration.ofSeconds(2));
+        assertTrue(writes.tryAcquire());
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/v1/accounts/1/transactions/deposit"), rejected, new MockFilterChain());
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/accounts/1/transactions"), read, new MockFilterChain());
+        MockHttpServletResponse export = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/v1/users/import"), export, new MockFilterChain());
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertEquals(200, read.getStatus());
+        assertEquals(200, export.getStatus());
+        assertEquals(0, reads.getInFlight());
+        assertEquals(1, writes.getRejected());
+    }
+
+    private static void fill(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.getInFlight() < limiter.getLimit()) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.eaglebank.config;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadDataSourceTest {
+
+    @Test
+    void testPermitIsReturnedOnceWhenConnectionCloses() throws Exception {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool(), 2, Duration.ofMillis(50));
+
+        Connection first = bulkhead.getConnection();
+        bulkhead.getConnection();
+        assertEquals(0, bulkhead.getAvailablePermits());
+
+        first.close();
+        first.close();
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void testCallerTimesOutWhenAllPermitsAreHeld() throws Exception {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool(), 1, Duration.ofMillis(50));
+        bulkhead.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+    }
+
+    @Test
+    void testPermitIsReturnedWhenPoolFails() throws Exception {
+        DataSource failing = Mockito.mock(DataSource.class);
+        Mockito.when(failing.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(failing, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+    private DataSource pool() throws SQLException {
+        DataSource pool = Mockito.mock(DataSource.class);
+        Mockito.when(pool.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+        return pool;
+    }
+}
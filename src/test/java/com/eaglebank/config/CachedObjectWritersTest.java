@@ -0,0 +1,37 @@
+package com.eaglebank.config;
+
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedObjectWritersTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CachedObjectWriters writers = new CachedObjectWriters(objectMapper);
+
+    @Test
+    void testDtoAndCollectionWritersAreReused() {
+        JavaType page = objectMapper.getTypeFactory().constructCollectionType(List.class, TransactionResponseDTO.class);
+        JavaType single = objectMapper.constructType(TransactionResponseDTO.class);
+
+        ObjectWriter first = writers.writerFor(objectMapper.writer(), page);
+        assertSame(first, writers.writerFor(objectMapper.writer().forType(page), page));
+        assertSame(writers.writerFor(objectMapper.writer(), single), writers.writerFor(objectMapper.writer(), single));
+    }
+
+    @Test
+    void testViewsAndTypesOutsideTheDtosAreLeftAlone() {
+        ObjectWriter withView = objectMapper.writerWithView(Object.class);
+        assertSame(withView, writers.writerFor(withView, objectMapper.constructType(TransactionResponseDTO.class)));
+
+        ObjectWriter plain = objectMapper.writer();
+        assertSame(plain, writers.writerFor(plain, objectMapper.constructType(Object.class)));
+        assertNotSame(plain, writers.writerFor(plain, objectMapper.constructType(Map.class)));
+    }
+}
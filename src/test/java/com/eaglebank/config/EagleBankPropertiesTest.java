@@ -0,0 +1,47 @@
+package com.eaglebank.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NestedExceptionUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Settings that would stall or unbound the application are refused at startup.
+ */
+public class EagleBankPropertiesTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void testDefaultsAreValid() {
+        contextRunner.run(context -> assertNull(context.getStartupFailure()));
+    }
+
+    @Test
+    void testZeroBatchChunkSizeIsRejected() {
+        contextRunner.withPropertyValues("eaglebank.batch.chunk-size=0")
+                .run(context -> assertRejected(context.getStartupFailure(), "batch.chunkSize"));
+    }
+
+    @Test
+    void testZeroBulkImportChunkSizeIsRejected() {
+        contextRunner.withPropertyValues("eaglebank.bulk-import.chunk-size=0")
+                .run(context -> assertRejected(context.getStartupFailure(), "bulkImport.chunkSize"));
+    }
+
+    private static void assertRejected(Throwable failure, String field) {
+        assertNotNull(failure);
+        assertTrue(NestedExceptionUtils.getMostSpecificCause(failure).getMessage().contains(field), failure.toString());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(EagleBankProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -0,0 +1,78 @@
+package com.eaglebank.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testBurstThenSustainedRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, Duration.ofMinutes(1));
+        long now = 1_000 * SECOND;
+
+        assertEquals(2, limiter.tryAcquire("1", now));
+        assertEquals(1, limiter.tryAcquire("1", now));
+        assertEquals(0, limiter.tryAcquire("1", now));
+        long wait = limiter.tryAcquire("1", now);
+        assertEquals(-SECOND / 10, wait);
+        assertEquals(2, limiter.tryAcquire("2", now));
+
+        assertEquals(0, limiter.tryAcquire("1", now - wait));
+        assertEquals(2, limiter.tryAcquire("1", now + SECOND));
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedTheBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.001, 500, 100, Duration.ofMinutes(1));
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    limiter.tryAcquire("shared");
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8_000 - 500, limiter.getRejected());
+    }
+
+    @Test
+    void testInterceptorSetsHeadersAndRejectsWith429() throws Exception {
+        TokenBucketRateLimiter reads = new TokenBucketRateLimiter(1, 2, 100, Duration.ofMinutes(1));
+        TokenBucketRateLimiter writes = new TokenBucketRateLimiter(1, 1, 100, Duration.ofMinutes(1));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(reads, writes);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("GET", Map.of("accountId", "7")), first, null));
+        MockHttpServletResponse padded = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("GET", Map.of("accountId", "007")), padded, null));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("GET", Map.of("accountId", "7")), rejected, null));
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("POST", Map.of("accountId", "7")), write, null));
+
+        assertEquals("2", first.getHeader(RateLimitInterceptor.LIMIT_HEADER));
+        assertEquals("1", first.getHeader(RateLimitInterceptor.REMAINING_HEADER));
+        assertEquals("0", padded.getHeader(RateLimitInterceptor.REMAINING_HEADER));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals("0", write.getHeader(RateLimitInterceptor.REMAINING_HEADER));
+    }
+
+    private static MockHttpServletRequest request(String method, Map<String, String> variables) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/v1/accounts/" + variables.get("accountId"));
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables);
+        return request;
+    }
+}
@@ -1,8 +1,11 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.mapper.BankAccountMapper;
 import com.eaglebank.service.BankAccountService;
+import com.eaglebank.service.BulkImportService;
 import com.eaglebank.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +14,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,6 +41,9 @@ public class BankAccountControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private BulkImportService bulkImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -87,7 +94,7 @@ public class BankAccountControllerTest {
             getClass().getResourceAsStream("/payloads/bank-account-request.json"),
             BankAccountRequestDTO.class
         );
-        Mockito.when(userService.getUserById(1L)).thenReturn(testUser);
+        Mockito.when(userService.getOwner(1L)).thenReturn(testUser);
         Mockito.when(bankAccountService.createBankAccount(any())).thenReturn(buildBankAccount());
         mockMvc.perform(post("/v1/accounts")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -101,7 +108,7 @@ public class BankAccountControllerTest {
             getClass().getResourceAsStream("/payloads/bank-account-request.json"),
             BankAccountRequestDTO.class
         );
-        Mockito.when(userService.getUserById(1L)).thenReturn(testUser);
+        Mockito.when(userService.getOwner(1L)).thenReturn(testUser);
         Mockito.when(bankAccountService.updateBankAccount(eq(1L), any())).thenReturn(buildBankAccount());
         mockMvc.perform(put("/v1/accounts/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -115,16 +122,65 @@ public class BankAccountControllerTest {
             getClass().getResourceAsStream("/payloads/bank-account-response.json"),
             BankAccountResponseDTO.class
         );
-        Mockito.when(bankAccountService.getBankAccountById(1L)).thenReturn(buildBankAccount());
+        Mockito.when(bankAccountService.getBankAccountById(1L)).thenReturn(BankAccountMapper.toResponseDTO(buildBankAccount()));
         mockMvc.perform(get("/v1/accounts/1"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    void testGetBankAccountById_AcceptCborReturnsCbor() throws Exception {
+        Mockito.when(bankAccountService.getBankAccountById(1L)).thenReturn(BankAccountMapper.toResponseDTO(buildBankAccount()));
+        byte[] body = mockMvc.perform(get("/v1/accounts/1").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        BankAccountResponseDTO account = new CBORMapper().findAndRegisterModules().readValue(body, BankAccountResponseDTO.class);
+        assertEquals(1L, account.getId());
+        assertEquals(buildBankAccount().getAccountNumber(), account.getAccountNumber());
+    }
+
+    @Test
+    void testGetBankAccountById_MatchingETagReturns304() throws Exception {
+        com.eaglebank.model.BankAccount account = buildBankAccount();
+        account.setVersion(7);
+        Mockito.when(bankAccountService.getBankAccountById(1L)).thenReturn(BankAccountMapper.toResponseDTO(account));
+        mockMvc.perform(get("/v1/accounts/1").header("If-None-Match", "W/\"1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"1-7\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/v1/accounts/1").header("If-None-Match", "W/\"1-6\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1-7\""))
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void testGetBankAccountByNumber() throws Exception {
+        Mockito.when(bankAccountService.getBankAccountIdByNumber("1234567890")).thenReturn(1L);
+        Mockito.when(bankAccountService.getBankAccountById(1L)).thenReturn(BankAccountMapper.toResponseDTO(buildBankAccount()));
+        mockMvc.perform(get("/v1/accounts/by-number/1234567890"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void testGetBankAccountByNumber_NotFound() throws Exception {
+        Mockito.when(bankAccountService.getBankAccountIdByNumber("UNKNOWN"))
+                .thenThrow(new NotFoundException("Bank account not found with number: UNKNOWN"));
+        mockMvc.perform(get("/v1/accounts/by-number/UNKNOWN"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
     void testGetAllBankAccounts() throws Exception {
-        Mockito.when(bankAccountService.getAllBankAccounts(any())).thenReturn(new PageImpl<>(List.of(buildBankAccount())));
+        Mockito.when(bankAccountService.getAllBankAccounts(any())).thenReturn(new PageImpl<>(List.of(bankAccountResponseDTO)));
         mockMvc.perform(get("/v1/accounts"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].userId").value(1L));
     }
 
     @org.junit.jupiter.api.BeforeEach
@@ -0,0 +1,95 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import com.eaglebank.service.TransactionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the embedded Tomcat, which only compresses responses whose ETag is weak, so a
+ * large history page must come back gzipped in every format it is negotiated in.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testLargeHistoryPageIsGzipped() throws Exception {
+        Long accountId = createAccount().getId();
+        for (int i = 0; i < 50; i++) {
+            transactionService.deposit(accountId, new TransactionRequestDTO(BigDecimal.ONE, TransactionType.DEPOSIT, "compressed " + i));
+        }
+        HttpClient client = HttpClient.newHttpClient();
+        String path = "/v1/accounts/" + accountId + "/transactions?limit=50";
+
+        HttpResponse<byte[]> json = client.send(request(path, "application/json"), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, json.statusCode());
+        assertEquals("gzip", json.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(json.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        assertEquals(50, objectMapper.readTree(gunzip(json.body())).size());
+
+        HttpResponse<byte[]> cbor = client.send(request(path, "application/cbor"), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, cbor.statusCode());
+        assertEquals("gzip", cbor.headers().firstValue("Content-Encoding").orElse(null));
+        JsonNode page = new CBORMapper().readTree(gunzip(cbor.body()));
+        assertEquals(50, page.size());
+    }
+
+    private HttpRequest request(String path, String accept) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip")
+                .build();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private BankAccount createAccount() {
+        User owner = userRepository.save(User.builder().firstName("Compression").lastName("Test")
+                .email("gzip@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        return bankAccountRepository.save(BankAccount.builder().accountNumber("GZIP-" + System.nanoTime()).user(owner)
+                .type(AccountType.CHECKING).balance(BigDecimal.ZERO).currency("GBP")
+                .status(AccountStatus.ACTIVE).build());
+    }
+}
@@ -0,0 +1,108 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.mapper.BankAccountMapper;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.BatchTransactionItemDTO;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import com.eaglebank.service.BankAccountService;
+import com.eaglebank.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that account and history ETags stay put while nothing changes and move with every
+ * change that shows up in the response, including FAILED rows that leave the balance alone.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testETagsFollowBalanceChangesAndFailedTransactions() throws Exception {
+        Long accountId = createAccount("10.00").getId();
+        String account = accountETag(accountId);
+        String history = transactionService.getTransactionHistoryETag(accountId);
+        assertEquals(account, accountETag(accountId));
+        assertEquals(history, transactionService.getTransactionHistoryETag(accountId));
+
+        transactionService.deposit(accountId, new TransactionRequestDTO(new BigDecimal("5.00"), TransactionType.DEPOSIT, "etag"));
+        String accountAfterDeposit = accountETag(accountId);
+        String historyAfterDeposit = transactionService.getTransactionHistoryETag(accountId);
+        assertNotEquals(account, accountAfterDeposit);
+        assertNotEquals(history, historyAfterDeposit);
+
+        transactionService.submitBatch(List.of(
+                new BatchTransactionItemDTO(accountId, new BigDecimal("1000.00"), TransactionType.WITHDRAWAL, "etag")));
+        assertNotEquals(historyAfterDeposit, transactionService.getTransactionHistoryETag(accountId));
+    }
+
+    @Test
+    void testAccountETagFollowsUpdates() {
+        BankAccount account = createAccount("10.00");
+        String before = accountETag(account.getId());
+
+        bankAccountService.updateBankAccount(account.getId(), BankAccount.builder().user(account.getUser())
+                .type(AccountType.SAVINGS).currency("GBP").status(AccountStatus.ACTIVE).build());
+
+        assertNotEquals(before, accountETag(account.getId()));
+    }
+
+    @Test
+    void testMatchingIfNoneMatchIsAnsweredWith304() throws Exception {
+        Long accountId = createAccount("10.00").getId();
+        for (String path : List.of("/v1/accounts/" + accountId, "/v1/accounts/" + accountId + "/transactions")) {
+            String eTag = mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+            assertNotNull(eTag, path);
+            mockMvc.perform(get(path).header("If-None-Match", eTag)).andExpect(status().isNotModified());
+        }
+
+        transactionService.deposit(accountId, new TransactionRequestDTO(BigDecimal.ONE, TransactionType.DEPOSIT, "etag"));
+        String stale = accountETag(accountId);
+        transactionService.deposit(accountId, new TransactionRequestDTO(BigDecimal.ONE, TransactionType.DEPOSIT, "etag"));
+        mockMvc.perform(get("/v1/accounts/" + accountId).header("If-None-Match", stale)).andExpect(status().isOk());
+        mockMvc.perform(get("/v1/accounts/404404404").header("If-None-Match", stale)).andExpect(status().isNotFound());
+    }
+
+    private String accountETag(Long accountId) {
+        return BankAccountMapper.toETag(bankAccountService.getBankAccountById(accountId));
+    }
+
+    private BankAccount createAccount(String balance) {
+        User owner = userRepository.save(User.builder().firstName("Conditional").lastName("Get")
+                .email("etag@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        return bankAccountRepository.save(BankAccount.builder().accountNumber("ETAG-" + System.nanoTime()).user(owner)
+                .type(AccountType.CHECKING).balance(new BigDecimal(balance)).currency("GBP")
+                .status(AccountStatus.ACTIVE).build());
+    }
+}
@@ -1,9 +1,17 @@
 package com.eaglebank.controller;
 
+import com.eaglebank.model.dto.BatchTransactionRequestDTO;
+import com.eaglebank.model.dto.BatchTransactionResponseDTO;
+import com.eaglebank.model.dto.CursorPage;
 import com.eaglebank.model.dto.TransactionRequestDTO;
 import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.model.dto.TransferResponseDTO;
+import com.eaglebank.service.TransactionExportService;
 import com.eaglebank.service.TransactionService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,12 +21,23 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.List;
+import com.eaglebank.model.TransactionType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import com.eaglebank.exceptions.ConflictException;
 import com.eaglebank.exceptions.InsufficientFundsException;
+import com.eaglebank.exceptions.NotFoundException;
+import com.eaglebank.model.ExportFormat;
+import org.springframework.test.web.servlet.MvcResult;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 @WebMvcTest(TransactionController.class)
 public class TransactionControllerTest {
@@ -28,6 +47,9 @@ public class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionExportService transactionExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -39,7 +61,7 @@ public class TransactionControllerTest {
     void testDeposit_Success() throws Exception {
         TransactionRequestDTO request = objectMapper.readValue(readJson("/payloads/transaction-deposit-request.json"), TransactionRequestDTO.class);
         TransactionResponseDTO response = objectMapper.readValue(readJson("/payloads/transaction-response.json"), TransactionResponseDTO.class);
-        Mockito.when(transactionService.deposit(eq(1L), any())).thenReturn(response);
+        Mockito.when(transactionService.deposit(eq(1L), any(), isNull())).thenReturn(response);
         mockMvc.perform(post("/v1/accounts/1/transactions/deposit")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
@@ -52,7 +74,7 @@ public class TransactionControllerTest {
     void testWithdraw_Success() throws Exception {
         TransactionRequestDTO request = objectMapper.readValue(readJson("/payloads/transaction-withdraw-request.json"), TransactionRequestDTO.class);
         TransactionResponseDTO response = objectMapper.readValue(readJson("/payloads/transaction-response.json"), TransactionResponseDTO.class);
-        Mockito.when(transactionService.withdraw(eq(1L), any())).thenReturn(response);
+        Mockito.when(transactionService.withdraw(eq(1L), any(), isNull())).thenReturn(response);
         mockMvc.perform(post("/v1/accounts/1/transactions/withdraw")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
@@ -64,13 +86,84 @@ public class TransactionControllerTest {
     void testWithdraw_InsufficientFunds() throws Exception {
         TransactionRequestDTO request = objectMapper.readValue(readJson("/payloads/transaction-withdraw-request.json"), TransactionRequestDTO.class);
         TransactionResponseDTO failedResponse = objectMapper.readValue(readJson("/payloads/transaction-failed-response.json"), TransactionResponseDTO.class);
-        Mockito.when(transactionService.withdraw(eq(1L), any())).thenThrow(new InsufficientFundsException("Insufficient funds"));
+        Mockito.when(transactionService.withdraw(eq(1L), any(), isNull())).thenThrow(new InsufficientFundsException("Insufficient funds"));
         mockMvc.perform(post("/v1/accounts/1/transactions/withdraw")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testTransfer_Success() throws Exception {
+        TransferRequestDTO request = objectMapper.readValue(readJson("/payloads/transfer-request.json"), TransferRequestDTO.class);
+        TransferResponseDTO response = objectMapper.readValue(readJson("/payloads/transfer-response.json"), TransferResponseDTO.class);
+        Mockito.when(transactionService.transfer(any())).thenReturn(response);
+        mockMvc.perform(post("/v1/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.debit.type").value("TRANSFER_OUT"))
+                .andExpect(jsonPath("$.credit.bankAccountId").value(2));
+    }
+
+    @Test
+    void testTransfer_MissingTargetAccount() throws Exception {
+        TransferRequestDTO request = objectMapper.readValue(readJson("/payloads/transfer-request.json"), TransferRequestDTO.class);
+        request.setToAccountId(null);
+        mockMvc.perform(post("/v1/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testDeposit_PassesIdempotencyKey() throws Exception {
+        TransactionRequestDTO request = objectMapper.readValue(readJson("/payloads/transaction-deposit-request.json"), TransactionRequestDTO.class);
+        TransactionResponseDTO response = objectMapper.readValue(readJson("/payloads/transaction-response.json"), TransactionResponseDTO.class);
+        Mockito.when(transactionService.deposit(eq(1L), any(), eq("retry-123"))).thenReturn(response);
+        mockMvc.perform(post("/v1/accounts/1/transactions/deposit")
+                .header("Idempotency-Key", "retry-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void testDeposit_IdempotencyKeyReusedForOtherRequest_Returns409() throws Exception {
+        TransactionRequestDTO request = objectMapper.readValue(readJson("/payloads/transaction-deposit-request.json"), TransactionRequestDTO.class);
+        Mockito.when(transactionService.deposit(eq(1L), any(), eq("retry-123")))
+                .thenThrow(new ConflictException("Idempotency key was already used for a different request"));
+        mockMvc.perform(post("/v1/accounts/1/transactions/deposit")
+                .header("Idempotency-Key", "retry-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testSubmitBatch_ReportsPerItemResults() throws Exception {
+        BatchTransactionRequestDTO request = objectMapper.readValue(readJson("/payloads/transaction-batch-request.json"), BatchTransactionRequestDTO.class);
+        BatchTransactionResponseDTO response = objectMapper.readValue(readJson("/payloads/transaction-batch-response.json"), BatchTransactionResponseDTO.class);
+        Mockito.when(transactionService.submitBatch(any())).thenReturn(response);
+        mockMvc.perform(post("/v1/transactions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[1].error").exists());
+    }
+
+    @Test
+    void testSubmitBatch_EmptyItems_Returns400() throws Exception {
+        mockMvc.perform(post("/v1/transactions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetTransactionById_Success() throws Exception {
         TransactionResponseDTO response = objectMapper.readValue(readJson("/payloads/transaction-response.json"), TransactionResponseDTO.class);
@@ -83,9 +176,79 @@ public class TransactionControllerTest {
     @Test
     void testListTransactionsForAccount() throws Exception {
         TransactionResponseDTO response = objectMapper.readValue(readJson("/payloads/transaction-response.json"), TransactionResponseDTO.class);
-        Mockito.when(transactionService.getTransactionsForAccount(1L)).thenReturn(List.of(response));
+        Mockito.when(transactionService.getTransactionsForAccount(eq(1L), any())).thenReturn(new CursorPage<>(List.of(response), null));
         mockMvc.perform(get("/v1/accounts/1/transactions"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1));
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void testListTransactionsForAccount_AcceptSmileReturnsSmile() throws Exception {
+        TransactionResponseDTO response = objectMapper.readValue(readJson("/payloads/transaction-response.json"), TransactionResponseDTO.class);
+        Mockito.when(transactionService.getTransactionsForAccount(eq(1L), any())).thenReturn(new CursorPage<>(List.of(response, response), null));
+        byte[] body = mockMvc.perform(get("/v1/accounts/1/transactions").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<TransactionResponseDTO> page = new SmileMapper().findAndRegisterModules()
+                .readValue(body, new TypeReference<List<TransactionResponseDTO>>() { });
+        assertEquals(List.of(response, response), page);
+    }
+
+    @Test
+    void testListTransactionsForAccount_MatchingETagReturns304WithoutReadingThePage() throws Exception {
+        Mockito.when(transactionService.getTransactionHistoryETag(1L)).thenReturn("W/\"1-7\"");
+        mockMvc.perform(get("/v1/accounts/1/transactions").header("If-None-Match", "W/\"1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"1-7\""));
+        Mockito.verify(transactionService, Mockito.never()).getTransactionsForAccount(eq(1L), any());
+    }
+
+    @Test
+    void testListTransactionsForAccount_PassesFiltersAndReturnsNextCursor() throws Exception {
+        TransactionResponseDTO response = objectMapper.readValue(readJson("/payloads/transaction-response.json"), TransactionResponseDTO.class);
+        Mockito.when(transactionService.getTransactionsForAccount(eq(1L), any())).thenReturn(new CursorPage<>(List.of(response), "next-page"));
+        mockMvc.perform(get("/v1/accounts/1/transactions")
+                .param("after", "this-page")
+                .param("limit", "1")
+                .param("from", "2024-07-01T00:00:00")
+                .param("type", "DEPOSIT"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-page"));
+        Mockito.verify(transactionService).getTransactionsForAccount(eq(1L), argThat(query ->
+                "this-page".equals(query.getAfter())
+                        && query.getLimit() == 1
+                        && LocalDateTime.of(2024, 7, 1, 0, 0).equals(query.getFrom())
+                        && query.getType() == TransactionType.DEPOSIT));
+    }
+
+    @Test
+    void testListTransactionsForAccount_LimitTooLarge_Returns400() throws Exception {
+        mockMvc.perform(get("/v1/accounts/1/transactions").param("limit", "10000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportTransactions_StreamsCsv() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(4);
+            out.write("id,timestamp,type,status,amount,description,bankAccountId\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(transactionExportService).exportTransactions(eq(1L), any(), any(), eq(ExportFormat.CSV), any());
+        MvcResult result = mockMvc.perform(get("/v1/accounts/1/transactions/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(content().string(org.hamcrest.Matchers.startsWith("id,timestamp")));
+    }
+
+    @Test
+    void testExportTransactions_AccountNotFound_Returns404() throws Exception {
+        Mockito.doThrow(new NotFoundException("Bank account not found")).when(transactionExportService).checkExportable(eq(99L), any(), any());
+        mockMvc.perform(get("/v1/accounts/99/transactions/export"))
+                .andExpect(status().isNotFound());
     }
-} 
\ No newline at end of file
+}
@@ -2,6 +2,12 @@ package com.eaglebank.controller;
 
 import com.eaglebank.model.dto.UserRequestDTO;
 import com.eaglebank.model.dto.UserResponseDTO;
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.model.dto.CursorPage;
+import com.eaglebank.model.dto.ImportErrorDTO;
+import com.eaglebank.model.dto.ImportResponseDTO;
+import com.eaglebank.service.BulkImportService;
+import com.eaglebank.service.UserExportService;
 import com.eaglebank.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -14,6 +20,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -31,6 +40,12 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserExportService userExportService;
+
+    @MockBean
+    private BulkImportService bulkImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -84,7 +99,7 @@ public class UserControllerTest {
             getClass().getResourceAsStream("/payloads/user-response.json"),
             UserResponseDTO.class
         );
-        Mockito.when(userService.getUserById(1L)).thenReturn(userResponseDTOToUser(responseFromFile));
+        Mockito.when(userService.getUserById(1L)).thenReturn(responseFromFile);
         mockMvc.perform(get("/v1/users/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L))
@@ -92,19 +107,65 @@ public class UserControllerTest {
     }
 
     @Test
-    void testGetAllUsers() throws Exception {
+    void testGetUsers() throws Exception {
         UserResponseDTO responseFromFile = objectMapper.readValue(
             getClass().getResourceAsStream("/payloads/user-response.json"),
             UserResponseDTO.class
         );
-        List<User> users = List.of(userResponseDTOToUser(responseFromFile));
-        Mockito.when(userService.getAllUsers()).thenReturn(users);
+        Mockito.when(userService.getUsers(any())).thenReturn(new CursorPage<>(List.of(responseFromFile), null));
         mockMvc.perform(get("/v1/users"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].firstName").value("John"));
     }
 
+    @Test
+    void testGetUsers_ReturnsNextCursorHeader() throws Exception {
+        UserResponseDTO responseFromFile = objectMapper.readValue(
+            getClass().getResourceAsStream("/payloads/user-response.json"),
+            UserResponseDTO.class
+        );
+        Mockito.when(userService.getUsers(any())).thenReturn(new CursorPage<>(List.of(responseFromFile), "1"));
+        mockMvc.perform(get("/v1/users").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"));
+    }
+
+    @Test
+    void testGetUsers_LimitTooLarge_Returns400() throws Exception {
+        mockMvc.perform(get("/v1/users").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportUsers_StreamsNdjson() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userExportService).exportUsers(eq(ExportFormat.NDJSON), any());
+        MvcResult result = mockMvc.perform(get("/v1/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void testImportUsers_CsvReturnsReport() throws Exception {
+        ImportResponseDTO report = new ImportResponseDTO(2, 1, 1, List.of(new ImportErrorDTO(2, "email: must be a well-formed email address")));
+        Mockito.when(bulkImportService.importUsers(eq(ExportFormat.CSV), any())).thenReturn(report);
+        mockMvc.perform(post("/v1/users/import")
+                .contentType("text/csv")
+                .content("firstName,lastName,email,dateOfBirth\nJohn,Doe,john@example.com,1990-01-01\nJane,Doe,nope,1990-01-01\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
     @Test
     void testDeleteUser_Success() throws Exception {
         Mockito.doNothing().when(userService).deleteUserById(1L);
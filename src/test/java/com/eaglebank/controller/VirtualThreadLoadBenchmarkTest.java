@@ -0,0 +1,142 @@
+package com.eaglebank.controller;
+
+import com.eaglebank.EagleBankApplication;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.User;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Closed-loop load against a running server, once on the platform thread pool and once on
+ * virtual threads. Each client sends its requests back to back: nine history reads for every
+ * deposit, spread over {@value #ACCOUNTS} accounts. Latency percentiles and throughput are logged.
+ * <p>
+ * Run with {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups=none -Dtest=VirtualThreadLoadBenchmarkTest}.
+ * The 10k case keeps 10k sockets open on each side, so it needs an open file limit above 20k.
+ */
+@Slf4j
+@Tag("benchmark")
+public class VirtualThreadLoadBenchmarkTest {
+    private static final int ACCOUNTS = 64;
+    private static final int REQUESTS = 30_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000})
+    void compareLatency(int clients) throws Exception {
+        Stats platform = run(false, clients);
+        Stats virtual = run(true, clients);
+        log.info("{} clients, platform threads: {}", clients, platform);
+        log.info("{} clients, virtual threads:  {}", clients, virtual);
+        assertEquals(0, virtual.errors, "virtual thread run had errors");
+    }
+
+    private Stats run(boolean virtualThreads, int clients) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EagleBankApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.accept-count=4096",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + "-" + clients,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.eaglebank=WARN")
+                .run()) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/v1/accounts/";
+            List<Long> accountIds = createAccounts(context);
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            load(http, base, accountIds, Math.min(clients, 200), 2_000);
+            return load(http, base, accountIds, clients, REQUESTS);
+        }
+    }
+
+    private Stats load(HttpClient http, String base, List<Long> accountIds, int clients, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long began;
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        Long accountId = accountIds.get(i % accountIds.size());
+                        HttpRequest request = i % 10 == 0
+                                ? HttpRequest.newBuilder(URI.create(base + accountId + "/transactions/deposit"))
+                                        .header("Content-Type", "application/json")
+                                        .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1.00,\"type\":\"DEPOSIT\",\"description\":\"load\"}"))
+                                        .build()
+                                : HttpRequest.newBuilder(URI.create(base + accountId + "/transactions?limit=20")).GET().build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 300) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+        }
+        long elapsed = System.nanoTime() - began;
+        Arrays.sort(latencies);
+        return new Stats(requests * 1_000_000_000L / elapsed,
+                latencies[requests / 2] / 1_000_000.0,
+                latencies[(int) (requests * 0.99)] / 1_000_000.0,
+                errors.get());
+    }
+
+    private List<Long> createAccounts(ConfigurableApplicationContext context) {
+        User owner = context.getBean(UserRepository.class).save(User.builder().firstName("Load").lastName("Test")
+                .email("load@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        BankAccountRepository accounts = context.getBean(BankAccountRepository.class);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ids.add(accounts.save(BankAccount.builder().accountNumber("LOAD-" + i).user(owner)
+                    .type(AccountType.CHECKING).balance(BigDecimal.ZERO).currency("GBP")
+                    .status(AccountStatus.ACTIVE).build()).getId());
+        }
+        return ids;
+    }
+
+    private record Stats(long requestsPerSecond, double p50Millis, double p99Millis, int errors) {
+        @Override
+        public String toString() {
+            return String.format("%d req/s, p50 %.1f ms, p99 %.1f ms, %d errors", requestsPerSecond, p50Millis, p99Millis, errors);
+        }
+    }
+}
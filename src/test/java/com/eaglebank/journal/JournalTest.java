@@ -0,0 +1,104 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalTest {
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendedEventsAreReplayedAfterReopen() throws Exception {
+        try (Journal journal = open(0)) {
+            JournalEvent first = journal.append(event(1, "first"));
+            JournalEvent second = journal.append(event(2, null));
+            journal.awaitDurable(second.sequence());
+            assertEquals(1, first.sequence());
+            assertEquals(2, journal.getDurableSequence());
+        }
+
+        List<JournalEvent> replayed = new ArrayList<>();
+        try (Journal reopened = open(0)) {
+            reopened.replay(1, replayed::add);
+            assertEquals(3, reopened.append(event(3, null)).sequence());
+        }
+        assertEquals(1, replayed.size());
+        assertEquals(2, replayed.get(0).sequence());
+        assertEquals(2L, replayed.get(0).transactionId());
+        assertNull(replayed.get(0).description());
+    }
+
+    @Test
+    void testTornTailIsDiscarded() throws Exception {
+        try (Journal journal = open(0)) {
+            journal.awaitDurable(journal.append(event(1, "kept")).sequence());
+            journal.awaitDurable(journal.append(event(2, "torn")).sequence());
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long secondRecord = 8 + file.readInt();
+            file.seek(secondRecord + 20);
+            file.writeByte(0x7f);
+        }
+
+        List<JournalEvent> replayed = new ArrayList<>();
+        try (Journal reopened = open(0)) {
+            reopened.replay(0, replayed::add);
+            assertEquals(2, reopened.append(event(3, "rewritten")).sequence());
+        }
+        assertEquals(List.of("kept"), replayed.stream().map(JournalEvent::description).toList());
+    }
+
+    @Test
+    void testSegmentsRollAndProjectedOnesAreReleased() throws Exception {
+        try (Journal journal = open(0)) {
+            JournalEvent last = null;
+            for (int i = 1; i <= 200; i++) {
+                last = journal.append(event(i, "segment filler " + i));
+            }
+            journal.awaitDurable(last.sequence());
+            int segments = journal.getSegmentCount();
+            assertTrue(segments > 1);
+
+            journal.release(last.sequence());
+            assertEquals(1, journal.getSegmentCount());
+
+            List<JournalEvent> replayed = new ArrayList<>();
+            journal.replay(0, replayed::add);
+            assertFalse(replayed.isEmpty());
+            assertEquals(200, replayed.get(replayed.size() - 1).sequence());
+        }
+    }
+
+    @Test
+    void testSequenceContinuesAfterCheckpointWhenSegmentsAreGone() throws Exception {
+        try (Journal journal = open(41)) {
+            assertEquals(42, journal.append(event(1, null)).sequence());
+        }
+    }
+
+    private Journal open(long minimumSequence) throws Exception {
+        return new Journal(directory, SEGMENT_BYTES, Duration.ZERO, minimumSequence, event -> { });
+    }
+
+    private static JournalEvent event(long transactionId, String description) {
+        return new JournalEvent(0, transactionId, 7, TransactionType.DEPOSIT, 1999, 2,
+                LocalDateTime.of(2024, 7, 18, 10, 0), description, null);
+    }
+}
@@ -0,0 +1,280 @@
+package com.eaglebank.journal;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.exceptions.BadRequestException;
+import com.eaglebank.exceptions.ConflictException;
+import com.eaglebank.exceptions.InsufficientFundsException;
+import com.eaglebank.exceptions.ServiceUnavailableException;
+import com.eaglebank.metrics.BankingMetrics;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Money;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.repository.UserRepository;
+import com.eaglebank.service.CacheInvalidator;
+import com.eaglebank.service.IdempotencyStore;
+import com.eaglebank.service.LedgerEngine;
+import com.eaglebank.service.TransactionService;
+import com.eaglebank.service.TransactionServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the transaction service in journal mode against the test database. The application
+ * context keeps the journal disabled; each test builds its own over a temporary directory.
+ */
+@SpringBootTest
+public class TransactionJournalTest {
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    private EagleBankProperties properties;
+    private TransactionJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("drop table if exists journal_checkpoint");
+        properties = new EagleBankProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (journal != null) {
+            journal.destroy();
+        }
+    }
+
+    @Test
+    void testConcurrentMutationsAreProjectedToTheDatabase() throws Exception {
+        TransactionService service = start();
+        BankAccount account = createAccount("100.00");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<TransactionResponseDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            boolean withdraw = i % 4 == 0;
+            futures.add(pool.submit(() -> withdraw
+                    ? service.withdraw(account.getId(), request("1.00", TransactionType.WITHDRAWAL))
+                    : service.deposit(account.getId(), request("1.00", TransactionType.DEPOSIT))));
+        }
+        for (Future<TransactionResponseDTO> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        journal.awaitProjected();
+        assertEquals(0, new BigDecimal("200.00").compareTo(balanceOf(account)));
+        assertEquals(200, transactionRepository.findByBankAccount(account).size());
+    }
+
+    @Test
+    void testWithdrawalIsCheckedAgainstUnprojectedBalance() throws Exception {
+        TransactionService service = start();
+        BankAccount account = createAccount("0.00");
+
+        service.deposit(account.getId(), request("10.00", TransactionType.DEPOSIT));
+        service.withdraw(account.getId(), request("10.00", TransactionType.WITHDRAWAL));
+
+        assertThrows(InsufficientFundsException.class,
+                () -> service.withdraw(account.getId(), request("0.01", TransactionType.WITHDRAWAL)));
+        assertThrows(BadRequestException.class, () -> service.transfer(
+                new TransferRequestDTO(account.getId(), createAccount("0.00").getId(), BigDecimal.ONE, null)));
+        journal.awaitProjected();
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void testUnprojectedEventsAreRecoveredOnStartup() throws Exception {
+        BankAccount account = createAccount("5.00");
+        try (Journal crashed = new Journal(directory, 64 * 1024, Duration.ZERO, 0, event -> { })) {
+            for (int i = 1; i <= 3; i++) {
+                JournalEvent event = crashed.append(new JournalEvent(0, 1_000_000L + i, account.getId(),
+                        TransactionType.DEPOSIT, 250, 2, LocalDateTime.now(), "recovered", null));
+                crashed.awaitDurable(event.sequence());
+            }
+        }
+
+        start();
+
+        assertEquals(0, new BigDecimal("12.50").compareTo(balanceOf(account)));
+        assertEquals(3, transactionRepository.findByBankAccount(account).size());
+    }
+
+    @Test
+    void testFailingProjectionIsRetriedWithoutSkippingAndRejectsAppends() throws Exception {
+        properties.getJournal().setProjectorRetryBackoff(Duration.ofMillis(10));
+        properties.getJournal().setProjectorMaxBackoff(Duration.ofMillis(50));
+        properties.getJournal().setProjectorFailureThreshold(2);
+        TransactionService service = start();
+        BankAccount account = createAccount("0.00");
+        long missingId = 2_000_000L + account.getId();
+
+        Money five = Money.of(new BigDecimal("5.00"), 2);
+        journal.awaitDurable(journal.append(missingId, TransactionType.DEPOSIT, five, "blocked", null));
+        TransactionJournalHealthIndicator health = new TransactionJournalHealthIndicator(journal);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (journal.getProjectionFailure() == null && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertNotNull(journal.getProjectionFailure());
+        assertEquals(Status.DOWN, health.health().getStatus());
+        assertThrows(ServiceUnavailableException.class,
+                () -> service.deposit(account.getId(), request("1.00", TransactionType.DEPOSIT)));
+        assertEquals(0L, jdbcTemplate.queryForObject("select projected_sequence from journal_checkpoint", Long.class));
+
+        jdbcTemplate.update("insert into bank_accounts (id, account_number, user_id, type, balance, currency, currency_scale, status, "
+                + "created_at, updated_at, ledger_version, version) select ?, ?, user_id, type, 0, currency, currency_scale, status, "
+                + "created_at, updated_at, 0, 0 from bank_accounts where id = ?", missingId, "JOURNAL-" + System.nanoTime(), account.getId());
+        journal.awaitProjected();
+
+        assertNull(journal.getProjectionFailure());
+        assertEquals(Status.UP, health.health().getStatus());
+        assertEquals(0, new BigDecimal("5.00").compareTo(bankAccountRepository.findById(missingId).orElseThrow().getBalance()));
+        service.deposit(account.getId(), request("1.00", TransactionType.DEPOSIT));
+        journal.awaitProjected();
+        assertEquals(0, new BigDecimal("1.00").compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void testSameKeyOnTwoAccountsIsAppendedOnce() throws Exception {
+        TransactionService service = start();
+        BankAccount first = createAccount("0.00");
+        BankAccount second = createAccount("0.00");
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        int conflicts = 0;
+        for (int i = 0; i < 20; i++) {
+            String key = "shared-" + i;
+            Future<TransactionResponseDTO> a = pool.submit(() -> service.deposit(first.getId(), request("1.00", TransactionType.DEPOSIT), key));
+            Future<TransactionResponseDTO> b = pool.submit(() -> service.deposit(second.getId(), request("1.00", TransactionType.DEPOSIT), key));
+            for (Future<TransactionResponseDTO> future : List.of(a, b)) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ConflictException.class, e.getCause());
+                    conflicts++;
+                }
+            }
+        }
+        pool.shutdown();
+
+        journal.awaitProjected();
+        assertEquals(20, conflicts);
+        assertNull(journal.getProjectionFailure());
+        assertEquals(0, new BigDecimal("20.00").compareTo(balanceOf(first).add(balanceOf(second))));
+    }
+
+    @Test
+    void testKeyAlreadyInDatabaseIsProjectedAsReplay() throws Exception {
+        TransactionService service = start();
+        BankAccount account = createAccount("0.00");
+        jdbcTemplate.update("insert into transactions (id, bank_account_id, amount, type, status, timestamp, idempotency_key) "
+                + "values (?, ?, 5.00, 'DEPOSIT', 'FAILED', ?, 'evicted')", 2_000_000L + account.getId(), account.getId(), LocalDateTime.now());
+
+        service.deposit(account.getId(), request("5.00", TransactionType.DEPOSIT), "evicted");
+        journal.awaitProjected();
+
+        assertNull(journal.getProjectionFailure());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(account)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(journal.balanceOf(account.getId()).toBigDecimal()));
+        assertEquals(1, transactionRepository.findByBankAccount(account).size());
+        service.deposit(account.getId(), request("1.00", TransactionType.DEPOSIT));
+        journal.awaitProjected();
+        assertEquals(0, BigDecimal.ONE.compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void testRetryWithSameKeyReturnsTheSameEvent() throws Exception {
+        TransactionService service = start();
+        BankAccount account = createAccount("0.00");
+
+        TransactionResponseDTO first = service.deposit(account.getId(), request("2.00", TransactionType.DEPOSIT), "retry-key");
+        TransactionResponseDTO retried = service.deposit(account.getId(), request("2.00", TransactionType.DEPOSIT), "retry-key");
+
+        assertEquals(first.getId(), retried.getId());
+        journal.awaitProjected();
+        assertEquals(0, new BigDecimal("2.00").compareTo(balanceOf(account)));
+    }
+
+    private TransactionService start() throws Exception {
+        IdempotencyStore idempotencyStore = new IdempotencyStore(properties);
+        journal = new TransactionJournal(properties, jdbcTemplate, transactionTemplate, bankAccountRepository,
+                entityManagerFactory, cacheInvalidator, idempotencyStore);
+        journal.afterPropertiesSet();
+        return new TransactionServiceImpl(transactionRepository, bankAccountRepository, ledgerEngine, transactionTemplate,
+                properties, cacheInvalidator, metrics, idempotencyStore, journal);
+    }
+
+    private static TransactionRequestDTO request(String amount, TransactionType type) {
+        return new TransactionRequestDTO(new BigDecimal(amount), type, "journal");
+    }
+
+    private BigDecimal balanceOf(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private BankAccount createAccount(String balance) {
+        User owner = userRepository.save(User.builder().firstName("Journal").lastName("Test")
+                .email("journal@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        return bankAccountRepository.save(BankAccount.builder().accountNumber("JOURNAL-" + System.nanoTime()).user(owner)
+                .type(AccountType.CHECKING).balance(new BigDecimal(balance)).currency("GBP")
+                .status(AccountStatus.ACTIVE).build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.eaglebank.metrics;
+
+import com.eaglebank.exceptions.InsufficientFundsException;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import com.eaglebank.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class BankingMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testDepositAndRejectedWithdrawalAreCounted() {
+        Long accountId = createAccount().getId();
+        double deposits = registry.get("eaglebank.transactions.completed").tag("type", "deposit").counter().count();
+        double amount = registry.get("eaglebank.transactions.amount").tag("type", "deposit").counter().count();
+        double rejected = registry.get("eaglebank.transactions.insufficient.funds").counter().count();
+        long timed = registry.get("eaglebank.transactions.latency").tag("operation", "deposit").tag("outcome", "success").timer().count();
+
+        transactionService.deposit(accountId, new TransactionRequestDTO(new BigDecimal("12.50"), TransactionType.DEPOSIT, "metrics"));
+        assertThrows(InsufficientFundsException.class, () -> transactionService.withdraw(accountId,
+                new TransactionRequestDTO(new BigDecimal("100.00"), TransactionType.WITHDRAWAL, "metrics")));
+
+        assertEquals(deposits + 1, registry.get("eaglebank.transactions.completed").tag("type", "deposit").counter().count());
+        assertEquals(amount + 12.5, registry.get("eaglebank.transactions.amount").tag("type", "deposit").counter().count());
+        assertEquals(rejected + 1, registry.get("eaglebank.transactions.insufficient.funds").counter().count());
+        assertEquals(timed + 1, registry.get("eaglebank.transactions.latency").tag("operation", "deposit").tag("outcome", "success").timer().count());
+        assertTrue(registry.get("eaglebank.transactions.latency").tag("operation", "withdraw").tag("outcome", "error").timer().count() >= 1);
+    }
+
+    @Test
+    void testNotFoundIsCountedAndPrometheusExposesMeters() throws Exception {
+        double notFound = registry.get("eaglebank.errors.not.found").counter().count();
+
+        mockMvc.perform(get("/v1/transactions/999999999")).andExpect(status().isNotFound());
+
+        assertEquals(notFound + 1, registry.get("eaglebank.errors.not.found").counter().count());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("eaglebank_transactions_latency_seconds_bucket")))
+                .andExpect(content().string(containsString("eaglebank_errors_not_found_total")))
+                .andExpect(content().string(containsString("eaglebank_db_bulkhead_available")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+
+    private BankAccount createAccount() {
+        User owner = userRepository.save(User.builder().firstName("Metrics").lastName("Test")
+                .email("metrics@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        return bankAccountRepository.save(BankAccount.builder().accountNumber("METRICS-" + System.nanoTime()).user(owner)
+                .type(AccountType.CHECKING).balance(BigDecimal.ZERO).currency("GBP")
+                .status(AccountStatus.ACTIVE).build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.eaglebank.model;
+
+import com.eaglebank.exceptions.InvalidAmountException;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    void testConversionIsExactBothWays() {
+        Money money = Money.of(new BigDecimal("15234.670"), 2);
+
+        assertEquals(1523467L, money.getMinorUnits());
+        assertEquals(new BigDecimal("15234.67"), money.toBigDecimal());
+    }
+
+    @Test
+    void testExtraDecimalPlacesAreRejectedNotRounded() {
+        assertThrows(InvalidAmountException.class, () -> Money.of(new BigDecimal("10.005"), Money.scaleOf("GBP")));
+    }
+
+    @Test
+    void testScaleFollowsCurrency() {
+        assertEquals(2, Money.scaleOf("GBP"));
+        assertEquals(0, Money.scaleOf("JPY"));
+        assertThrows(InvalidAmountException.class, () -> Money.scaleOf("KWD"));
+        assertThrows(InvalidAmountException.class, () -> Money.scaleOf("XXX"));
+    }
+
+    @Test
+    void testArithmeticRejectsOverflow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, 2);
+
+        assertThrows(InvalidAmountException.class, () -> max.plus(Money.ofMinor(1, 2)));
+        assertThrows(InvalidAmountException.class, () -> Money.of(new BigDecimal("1e30"), 2));
+        assertEquals(Money.ofMinor(Long.MAX_VALUE - 1, 2), max.minus(Money.ofMinor(1, 2)));
+    }
+
+    @Test
+    void testMixingScalesIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(100, 2).plus(Money.ofMinor(100, 0)));
+    }
+}
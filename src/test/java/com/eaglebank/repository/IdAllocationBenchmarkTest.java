@@ -0,0 +1,79 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.EagleBankApplication;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput for different id block sizes. Each block size gets its own application
+ * context and in-memory database because the increment is fixed when the sequences are created.
+ * <p>
+ * Run with {@code ./mvnw test -Dgroups=benchmark -DexcludedGroups=none -Dtest=IdAllocationBenchmarkTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class IdAllocationBenchmarkTest {
+    private static final int ROUNDS = 5;
+    private static final int ROWS_PER_ROUND = 10_000;
+    private static final int CHUNK = 500;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 500})
+    void insertThroughput(int blockSize) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EagleBankApplication.class)
+                .properties(
+                        "eaglebank.id.block-size=" + blockSize,
+                        "spring.datasource.url=jdbc:h2:mem:ids" + blockSize,
+                        "logging.level.root=WARN",
+                        "logging.level." + IdAllocationBenchmarkTest.class.getName() + "=INFO")
+                .run()) {
+            UserRepository users = context.getBean(UserRepository.class);
+            BankAccountRepository accounts = context.getBean(BankAccountRepository.class);
+            TransactionRepository transactions = context.getBean(TransactionRepository.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+            User owner = users.save(User.builder().firstName("Bench").lastName("Mark")
+                    .email("bench@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+            BankAccount account = accounts.save(BankAccount.builder().accountNumber("BENCH-" + blockSize)
+                    .user(owner).type(AccountType.CHECKING).balance(BigDecimal.ZERO)
+                    .currency("GBP").status(AccountStatus.ACTIVE).build());
+
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long began = System.nanoTime();
+                for (int from = 0; from < ROWS_PER_ROUND; from += CHUNK) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        List<Transaction> chunk = new ArrayList<>(CHUNK);
+                        for (int i = 0; i < CHUNK; i++) {
+                            chunk.add(Transaction.builder().bankAccount(account).amount(BigDecimal.ONE)
+                                    .type(TransactionType.DEPOSIT).status(TransactionStatus.COMPLETED).build());
+                        }
+                        transactions.saveAll(chunk);
+                    });
+                }
+                best = Math.min(best, System.nanoTime() - began);
+            }
+            assertEquals((long) ROUNDS * ROWS_PER_ROUND, transactions.count());
+            log.info("block size {}: {} rows/s (best of {} rounds of {} rows)",
+                    blockSize, ROWS_PER_ROUND * 1_000_000_000L / best, ROUNDS, ROWS_PER_ROUND);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.eaglebank.repository;
+
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionHistoryRequestDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class TransactionHistoryPaginationTest {
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private BankAccount account;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder().firstName("John").lastName("Doe")
+                .email("john@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        account = bankAccountRepository.save(BankAccount.builder().accountNumber("1234567890").user(user)
+                .type(AccountType.CHECKING).balance(BigDecimal.ZERO).currency("GBP").status(AccountStatus.ACTIVE).build());
+        for (int i = 0; i < 25; i++) {
+            transactionRepository.save(Transaction.builder().bankAccount(account).amount(BigDecimal.ONE)
+                    .type(i % 5 == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT)
+                    .status(TransactionStatus.COMPLETED).build());
+        }
+        entityManager.flush();
+        // Several rows share a timestamp so the id tie-breaker is exercised.
+        entityManager.createQuery("update Transaction t set t.timestamp = :ts where mod(t.id, 3) = 0")
+                .setParameter("ts", LocalDateTime.of(2024, 7, 18, 10, 0))
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void testPagingVisitsEveryRowOnceInDescendingOrder() {
+        TransactionHistoryRequestDTO filter = new TransactionHistoryRequestDTO();
+        List<TransactionResponseDTO> seen = new ArrayList<>();
+        TransactionCursor cursor = null;
+        do {
+            List<TransactionResponseDTO> page = transactionRepository.findHistoryPage(account.getId(), filter, cursor, 7);
+            seen.addAll(page);
+            cursor = page.size() < 7 ? null
+                    : new TransactionCursor(page.get(6).getTimestamp(), page.get(6).getId());
+        } while (cursor != null);
+
+        Set<Long> ids = new HashSet<>();
+        seen.forEach(t -> ids.add(t.getId()));
+        assertEquals(25, seen.size());
+        assertEquals(25, ids.size());
+        for (int i = 1; i < seen.size(); i++) {
+            TransactionResponseDTO previous = seen.get(i - 1);
+            TransactionResponseDTO current = seen.get(i);
+            int byTime = previous.getTimestamp().compareTo(current.getTimestamp());
+            assertTrue(byTime > 0 || (byTime == 0 && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void testTypeFilter() {
+        TransactionHistoryRequestDTO filter = new TransactionHistoryRequestDTO();
+        filter.setType(TransactionType.WITHDRAWAL);
+        List<TransactionResponseDTO> page = transactionRepository.findHistoryPage(account.getId(), filter, null, 50);
+        assertEquals(5, page.size());
+        assertTrue(page.stream().allMatch(t -> t.getType() == TransactionType.WITHDRAWAL));
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 7, 18, 10, 0, 0, 123_456_000), 42L);
+        assertEquals(cursor, TransactionCursor.decode(cursor.encode()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.CacheConfig;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.BankAccountResponseDTO;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that account and user reads are served from the cache and that
+ * every path changing a balance or a row evicts the stale entry.
+ */
+@SpringBootTest
+public class AccountCacheTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void testRepeatedReadIsServedFromCache() {
+        BankAccount account = createAccount("10.00");
+
+        BankAccountResponseDTO first = bankAccountService.getBankAccountById(account.getId());
+        BankAccountResponseDTO second = bankAccountService.getBankAccountById(account.getId());
+
+        assertSame(first, second);
+        assertNotNull(cacheManager.getCache(CacheConfig.BANK_ACCOUNTS).get(account.getId()));
+    }
+
+    @Test
+    void testAccountIsCachedAsResponseNotEntity() {
+        BankAccount account = createAccount("10.00");
+        bankAccountService.getBankAccountById(account.getId());
+
+        Object cached = cacheManager.getCache(CacheConfig.BANK_ACCOUNTS).get(account.getId()).get();
+        assertInstanceOf(BankAccountResponseDTO.class, cached);
+
+        userService.updateUser(account.getUser().getId(), user("Renamed"));
+        BankAccountResponseDTO afterOwnerUpdate = bankAccountService.getBankAccountById(account.getId());
+        assertSame(cached, afterOwnerUpdate);
+        assertEquals(account.getUser().getId(), afterOwnerUpdate.getUserId());
+    }
+
+    @Test
+    void testDepositAndWithdrawalEvictCachedAccount() {
+        BankAccount account = createAccount("10.00");
+        bankAccountService.getBankAccountById(account.getId());
+
+        transactionService.deposit(account.getId(), new TransactionRequestDTO(new BigDecimal("5.00"), TransactionType.DEPOSIT, "cache"));
+        assertNull(cacheManager.getCache(CacheConfig.BANK_ACCOUNTS).get(account.getId()));
+        assertEquals(0, new BigDecimal("15.00").compareTo(bankAccountService.getBankAccountById(account.getId()).getBalance()));
+
+        transactionService.withdraw(account.getId(), new TransactionRequestDTO(new BigDecimal("3.00"), TransactionType.WITHDRAWAL, "cache"));
+        assertEquals(0, new BigDecimal("12.00").compareTo(bankAccountService.getBankAccountById(account.getId()).getBalance()));
+    }
+
+    @Test
+    void testUpdateEvictsCachedUser() {
+        User user = userRepository.save(user("Before"));
+        assertEquals("Before", userService.getUserById(user.getId()).getFirstName());
+
+        userService.updateUser(user.getId(), user("After"));
+
+        assertEquals("After", userService.getUserById(user.getId()).getFirstName());
+    }
+
+    private BankAccount createAccount(String balance) {
+        User owner = userRepository.save(user("Cache"));
+        return bankAccountRepository.save(BankAccount.builder()
+                .accountNumber("CACHE-" + System.nanoTime())
+                .user(owner)
+                .type(AccountType.CHECKING)
+                .balance(new BigDecimal(balance))
+                .currency("GBP")
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    private User user(String firstName) {
+        return User.builder()
+                .firstName(firstName)
+                .lastName("Test")
+                .email("cache@example.com")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.User;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that generated account numbers carry a valid check digit, stay unique across
+ * concurrent creators, and are leased from the counter a block at a time.
+ */
+@SpringBootTest(properties = {
+        "eaglebank.account-number.generate=true",
+        "eaglebank.account-number.block-size=5",
+        "eaglebank.account-number.stripes=4"})
+public class AccountNumberAllocatorTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCheckDigitMatchesLuhn() {
+        assertEquals(3, AccountNumberAllocator.checkDigit("7992739871", 0));
+        assertEquals(3, AccountNumberAllocator.checkDigit("EB7992739871", 2));
+        assertEquals(0, AccountNumberAllocator.checkDigit("0000000000", 0));
+    }
+
+    @Test
+    void testConcurrentCreatesGetUniqueValidNumbers() throws Exception {
+        User owner = userRepository.save(User.builder().firstName("Number").lastName("Test")
+                .email("numbers@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        long counterBefore = counter();
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> creators = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                creators.add(executor.submit(() -> {
+                    for (int i = 0; i < 12; i++) {
+                        BankAccount created = bankAccountService.createBankAccount(BankAccount.builder().user(owner)
+                                .type(AccountType.SAVINGS).balance(BigDecimal.ONE).currency("GBP")
+                                .status(AccountStatus.ACTIVE).build());
+                        numbers.add(created.getAccountNumber());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> creator : creators) {
+                creator.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(96, numbers.size());
+        for (String number : numbers) {
+            assertTrue(number.matches("EB\\d{11}"), number);
+            int expected = AccountNumberAllocator.checkDigit(number.substring(0, number.length() - 1), 2);
+            assertEquals(expected, number.charAt(number.length() - 1) - '0', number);
+            assertTrue(bankAccountService.getBankAccountIdByNumber(number) > 0);
+        }
+        long leased = counter() - counterBefore;
+        assertEquals(0, leased % 5);
+        assertTrue(leased >= 96 && leased < 96 + 4 * 5, "leased " + leased);
+    }
+
+    private long counter() {
+        List<Long> value = jdbcTemplate.queryForList("select next_value from account_number_counter where id = 1", Long.class);
+        return value.isEmpty() ? 1 : value.get(0);
+    }
+}
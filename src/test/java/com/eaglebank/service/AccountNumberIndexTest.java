@@ -0,0 +1,91 @@
+package com.eaglebank.service;
+
+import com.eaglebank.exceptions.NotFoundException;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.User;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the account number index follows creates, renumbering and deletes made through
+ * the service, and falls back to the database for accounts written around it.
+ */
+@SpringBootTest
+public class AccountNumberIndexTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private AccountNumberIndex accountNumberIndex;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testIndexFollowsCreateUpdateAndDelete() {
+        String number = "IDX-" + System.nanoTime();
+        BankAccount created = bankAccountService.createBankAccount(account(number));
+        assertEquals(created.getId(), bankAccountService.getBankAccountIdByNumber(number));
+
+        BankAccount renumbered = account(number + "-B");
+        bankAccountService.updateBankAccount(created.getId(), renumbered);
+        assertEquals(created.getId(), bankAccountService.getBankAccountIdByNumber(number + "-B"));
+        assertThrows(NotFoundException.class, () -> bankAccountService.getBankAccountIdByNumber(number));
+
+        bankAccountService.deleteBankAccountById(created.getId());
+        assertThrows(NotFoundException.class, () -> bankAccountService.getBankAccountIdByNumber(number + "-B"));
+    }
+
+    @Test
+    void testAccountWrittenAroundTheServiceIsFoundAndRemembered() {
+        String number = "IDX-DIRECT-" + System.nanoTime();
+        BankAccount saved = bankAccountRepository.save(account(number));
+        int sizeBefore = accountNumberIndex.size();
+
+        assertEquals(saved.getId(), bankAccountService.getBankAccountIdByNumber(number));
+        assertEquals(sizeBefore + 1, accountNumberIndex.size());
+    }
+
+    @Test
+    void testLookupDuringUncommittedRenumberDoesNotOutliveIt() {
+        String number = "IDX-RACE-" + System.nanoTime();
+        BankAccount created = bankAccountService.createBankAccount(account(number));
+        BankAccount renumbered = account(number + "-B");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bankAccountService.updateBankAccount(created.getId(), renumbered);
+            accountNumberIndex.remove(number, created.getId());
+            Optional<Long> duringUpdate = CompletableFuture.supplyAsync(() -> accountNumberIndex.resolve(number)).join();
+            assertEquals(Optional.of(created.getId()), duringUpdate);
+        });
+
+        assertEquals(Optional.empty(), accountNumberIndex.resolve(number));
+        assertEquals(Optional.of(created.getId()), accountNumberIndex.resolve(number + "-B"));
+    }
+
+    private BankAccount account(String number) {
+        User owner = userRepository.save(User.builder().firstName("Index").lastName("Test")
+                .email("index@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        return BankAccount.builder().accountNumber(number).user(owner).type(AccountType.CHECKING)
+                .balance(BigDecimal.TEN).currency("GBP").status(AccountStatus.ACTIVE).build();
+    }
+}
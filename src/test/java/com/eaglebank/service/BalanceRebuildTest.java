@@ -0,0 +1,200 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.exceptions.BadRequestException;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.BalanceMismatchDTO;
+import com.eaglebank.model.dto.BalanceRebuildReportDTO;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"eaglebank.rebuild.partition-size=7", "eaglebank.rebuild.parallelism=4"})
+public class BalanceRebuildTest {
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EagleBankProperties properties;
+
+    @Autowired
+    private BalanceRebuildService rebuildService;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRebuild().setSnapshotFile(directory.resolve("balances.bin").toString());
+    }
+
+    @Test
+    void testCorruptedBalanceIsFoundAndRepaired() {
+        BankAccount healthy = createAccount("50.00");
+        BankAccount corrupted = createAccount("10.00");
+        for (int i = 0; i < 20; i++) {
+            transactionService.deposit(healthy.getId(), request("2.50", TransactionType.DEPOSIT));
+            transactionService.deposit(corrupted.getId(), request("1.00", TransactionType.DEPOSIT));
+        }
+        transactionService.withdraw(corrupted.getId(), request("3.00", TransactionType.WITHDRAWAL));
+        transactionService.transfer(new TransferRequestDTO(healthy.getId(), corrupted.getId(), new BigDecimal("5.00"), null));
+        jdbcTemplate.update("update bank_accounts set balance = 999 where id = ?", corrupted.getId());
+
+        BalanceRebuildReportDTO verify = rebuildService.rebuild(false);
+
+        BalanceMismatchDTO mismatch = mismatchFor(verify, corrupted);
+        assertNotNull(mismatch);
+        assertEquals(0, new BigDecimal("32.00").compareTo(mismatch.getLedgerBalance()));
+        assertNull(mismatchFor(verify, healthy));
+        assertTrue(verify.getPartitions() > 1);
+        assertEquals(0, new BigDecimal("999").compareTo(balanceOf(corrupted)));
+
+        BalanceRebuildReportDTO repair = rebuildService.rebuild(true);
+
+        assertTrue(repair.isRepaired());
+        assertEquals(0, new BigDecimal("32.00").compareTo(balanceOf(corrupted)));
+        assertEquals(0, new BigDecimal("95.00").compareTo(balanceOf(healthy)));
+    }
+
+    @Test
+    void testSnapshotLimitsTheNextScan() throws Exception {
+        BankAccount account = createAccount("0.00");
+        transactionService.deposit(account.getId(), request("40.00", TransactionType.DEPOSIT));
+
+        BalanceRebuildReportDTO first = rebuildService.rebuild(false);
+        assertTrue(Files.exists(directory.resolve("balances.bin")));
+        transactionService.withdraw(account.getId(), request("15.00", TransactionType.WITHDRAWAL));
+        BalanceRebuildReportDTO second = rebuildService.rebuild(false);
+
+        assertEquals(first.getWatermark(), second.getFromTransactionId());
+        assertTrue(second.getWatermark() > first.getWatermark());
+        assertNull(mismatchFor(second, account));
+    }
+
+    @Test
+    void testDamagedSnapshotFallsBackToFullScan() throws Exception {
+        BankAccount account = createAccount("0.00");
+        transactionService.deposit(account.getId(), request("12.00", TransactionType.DEPOSIT));
+        rebuildService.rebuild(false);
+        Path snapshot = directory.resolve("balances.bin");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(snapshot, bytes);
+
+        BalanceRebuildReportDTO report = rebuildService.rebuild(false);
+
+        assertEquals(0, report.getFromTransactionId());
+        assertNull(mismatchFor(report, account));
+    }
+
+    @Test
+    void testSnapshotFromAnotherDatabaseIsIgnored() {
+        BankAccount account = createAccount("0.00");
+        transactionService.deposit(account.getId(), request("7.00", TransactionType.DEPOSIT));
+        rebuildService.rebuild(false);
+        jdbcTemplate.update("update balance_snapshot set token = token + 1 where id = 1");
+
+        BalanceRebuildReportDTO report = rebuildService.rebuild(false);
+
+        assertEquals(0, report.getFromTransactionId());
+        assertNull(mismatchFor(report, account));
+    }
+
+    @Test
+    void testBalanceCannotBeEditedOutsideTheLedger() {
+        BankAccount account = createAccount("20.00");
+        BankAccount edit = BankAccount.builder().accountNumber(account.getAccountNumber()).user(account.getUser())
+                .type(AccountType.SAVINGS).balance(new BigDecimal("500.00")).currency("GBP")
+                .status(AccountStatus.ACTIVE).build();
+
+        assertThrows(BadRequestException.class, () -> bankAccountService.updateBankAccount(account.getId(), edit));
+
+        edit.setBalance(new BigDecimal("20"));
+        assertEquals(AccountType.SAVINGS, bankAccountService.updateBankAccount(account.getId(), edit).getType());
+        assertNull(mismatchFor(rebuildService.rebuild(true), account));
+        assertEquals(0, new BigDecimal("20.00").compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void testEditDoesNotOverwriteConcurrentBalanceChange() throws Exception {
+        BankAccount account = createAccount("10.00");
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread deposit = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            bankAccountRepository.findByIdForUpdate(account.getId());
+            locked.countDown();
+            try {
+                TimeUnit.MILLISECONDS.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            jdbcTemplate.update("update bank_accounts set balance = balance + 5 where id = ?", account.getId());
+        }));
+        deposit.start();
+        locked.await();
+
+        BankAccount edit = BankAccount.builder().accountNumber(account.getAccountNumber()).user(account.getUser())
+                .type(AccountType.SAVINGS).currency("GBP").status(AccountStatus.ACTIVE).build();
+        bankAccountService.updateBankAccount(account.getId(), edit);
+        deposit.join();
+
+        assertEquals(0, new BigDecimal("15.00").compareTo(balanceOf(account)));
+    }
+
+    private BalanceMismatchDTO mismatchFor(BalanceRebuildReportDTO report, BankAccount account) {
+        return report.getMismatches().stream()
+                .filter(m -> m.getAccountId().equals(account.getId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static TransactionRequestDTO request(String amount, TransactionType type) {
+        return new TransactionRequestDTO(new BigDecimal(amount), type, "rebuild");
+    }
+
+    private BigDecimal balanceOf(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private BankAccount createAccount(String balance) {
+        User owner = userRepository.save(User.builder().firstName("Rebuild").lastName("Test")
+                .email("rebuild@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        return bankAccountRepository.save(BankAccount.builder().accountNumber("REBUILD-" + System.nanoTime()).user(owner)
+                .type(AccountType.CHECKING).balance(new BigDecimal(balance)).currency("GBP")
+                .status(AccountStatus.ACTIVE).build());
+    }
+}
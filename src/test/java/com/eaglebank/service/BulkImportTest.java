@@ -0,0 +1,94 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.ImportErrorDTO;
+import com.eaglebank.model.dto.ImportResponseDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"eaglebank.bulk-import.chunk-size=2", "eaglebank.bulk-import.max-line-length=200"})
+public class BulkImportTest {
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Test
+    void testNdjsonUsersAreImportedAndBadLinesReported() throws Exception {
+        long before = userRepository.count();
+        String ndjson = """
+                {"firstName":"Ada","lastName":"Lovelace","email":"ada@example.com","dateOfBirth":"1990-12-10"}
+                {"firstName":"","lastName":"Nobody","email":"not-an-email","dateOfBirth":"1990-01-01"}
+
+                {"firstName":"Alan","lastName":"Turing"
+                {"firstName":"Grace","lastName":"Hopper","email":"grace@example.com","dateOfBirth":"1986-12-09"}
+                {"firstName":"Edsger","lastName":"Dijkstra","email":"edsger@example.com","dateOfBirth":"1980-05-11"}
+                """;
+
+        ImportResponseDTO report = bulkImportService.importUsers(ExportFormat.NDJSON, stream(ndjson));
+
+        assertEquals(5, report.getTotal());
+        assertEquals(3, report.getSucceeded());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+        assertEquals("email: must be a well-formed email address; firstName: must not be blank", report.getErrors().get(0).getError());
+        assertTrue(report.getErrors().get(1).getError().startsWith("Invalid JSON"));
+        assertEquals(before + 3, userRepository.count());
+    }
+
+    @Test
+    void testOversizedNdjsonLineIsReportedAndSkipped() throws Exception {
+        String ndjson = "{\"firstName\":\"Long\",\"lastName\":\"" + "x".repeat(1_000) + "\"}\r\n"
+                + "{\"firstName\":\"Barbara\",\"lastName\":\"Liskov\",\"email\":\"barbara@example.com\",\"dateOfBirth\":\"1989-11-07\"}\r\n";
+
+        ImportResponseDTO report = bulkImportService.importUsers(ExportFormat.NDJSON, stream(ndjson));
+
+        assertEquals(2, report.getTotal());
+        assertEquals(1, report.getSucceeded());
+        assertEquals(List.of(1L), report.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+        assertEquals("Line longer than 200 characters", report.getErrors().get(0).getError());
+    }
+
+    @Test
+    void testCsvAccountsResolveOwnersAndRejectDuplicates() throws Exception {
+        User owner = userRepository.save(User.builder().firstName("Import").lastName("Owner")
+                .email("owner@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        String prefix = "IMP-" + System.nanoTime() + "-";
+        String csv = "accountNumber,userId,type,balance,currency,status,unused\n"
+                + prefix + "1," + owner.getId() + ",CHECKING,10.50,GBP,ACTIVE,x\n"
+                + prefix + "2,-1,SAVINGS,0,GBP,ACTIVE,\n"
+                + prefix + "1," + owner.getId() + ",SAVINGS,0,GBP,ACTIVE,\n"
+                + prefix + "3," + owner.getId() + ",UNKNOWN,0,GBP,ACTIVE,\n"
+                + prefix + "4," + owner.getId() + ",SAVINGS,,GBP,ACTIVE,\n"
+                + "\"" + prefix + "5\"," + owner.getId() + ",SAVINGS,99,GBP,ACTIVE,\n";
+
+        ImportResponseDTO report = bulkImportService.importBankAccounts(ExportFormat.CSV, stream(csv));
+
+        assertEquals(6, report.getTotal());
+        assertEquals(2, report.getSucceeded());
+        assertEquals(List.of(2L, 3L, 4L, 5L), report.getErrors().stream().map(ImportErrorDTO::getRow).sorted().toList());
+        assertEquals(0, new BigDecimal("10.50").compareTo(bankAccountRepository.findAll().stream()
+                .filter(a -> a.getAccountNumber().equals(prefix + "1")).findFirst().orElseThrow().getBalance()));
+        assertTrue(bankAccountRepository.findExistingAccountNumbers(List.of(prefix + "5")).contains(prefix + "5"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,191 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.config.EntityCacheConfig;
+import com.eaglebank.exceptions.InsufficientFundsException;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that repeated entity loads are served from the second-level cache, and that balances
+ * changed by the ledger, by transfers and by plain JDBC are never read stale from it. Ledger
+ * writes to one account must leave the other accounts' entries cached.
+ */
+@Slf4j
+@SpringBootTest(properties = "eaglebank.entity-cache.enabled=true")
+public class EntityCacheTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testRepeatedLoadsHitTheCache() {
+        BankAccount account = createAccount("10.00");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, new BigDecimal("10.00").compareTo(load(account).getBalance()));
+        }
+        CacheRegionStatistics accounts = statistics.getDomainDataRegionStatistics(EntityCacheConfig.BANK_ACCOUNTS_REGION);
+        CacheRegionStatistics users = statistics.getDomainDataRegionStatistics(EntityCacheConfig.USERS_REGION);
+        assertTrue(accounts.getHitCount() >= 9, "account hits " + accounts.getHitCount());
+        assertTrue(accounts.getMissCount() <= 1, "account misses " + accounts.getMissCount());
+        assertTrue(users.getHitCount() >= 9, "user hits " + users.getHitCount());
+        assertTrue(users.getMissCount() <= 1, "user misses " + users.getMissCount());
+
+        FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", EntityCacheConfig.BANK_ACCOUNTS_REGION).tag("result", "hit").functionCounter();
+        assertNotNull(hits);
+        assertTrue(hits.count() >= 9);
+    }
+
+    @Test
+    void testLedgerBalanceChangesAreNotReadStale() {
+        BankAccount account = createAccount("10.00");
+        load(account);
+
+        transactionService.deposit(account.getId(), new TransactionRequestDTO(new BigDecimal("5.00"), TransactionType.DEPOSIT, "l2"));
+        assertEquals(0, new BigDecimal("15.00").compareTo(load(account).getBalance()));
+
+        transactionService.withdraw(account.getId(), new TransactionRequestDTO(new BigDecimal("3.00"), TransactionType.WITHDRAWAL, "l2"));
+        assertEquals(0, new BigDecimal("12.00").compareTo(load(account).getBalance()));
+
+        long hitsBefore = statistics.getDomainDataRegionStatistics(EntityCacheConfig.BANK_ACCOUNTS_REGION).getHitCount();
+        load(account);
+        assertEquals(hitsBefore + 1, statistics.getDomainDataRegionStatistics(EntityCacheConfig.BANK_ACCOUNTS_REGION).getHitCount());
+    }
+
+    @Test
+    void testTransferAndJdbcChangesAreNotReadStale() {
+        BankAccount from = createAccount("10.00");
+        BankAccount to = createAccount("0.00");
+        load(from);
+        load(to);
+
+        transactionService.transfer(new TransferRequestDTO(from.getId(), to.getId(), new BigDecimal("4.00"), null));
+        assertEquals(0, new BigDecimal("6.00").compareTo(load(from).getBalance()));
+        assertEquals(0, new BigDecimal("4.00").compareTo(load(to).getBalance()));
+
+        jdbcTemplate.update("update bank_accounts set balance = 99.00 where id = ?", to.getId());
+        cacheInvalidator.evictBankAccount(to.getId());
+        assertEquals(0, new BigDecimal("99.00").compareTo(load(to).getBalance()));
+    }
+
+    @Test
+    void testReadsKeepHittingWhileOtherAccountsAreWritten() throws Exception {
+        BankAccount written = createAccount("0.00");
+        List<BankAccount> read = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            read.add(load(createAccount("1.00")));
+        }
+        CacheRegionStatistics accounts = statistics.getDomainDataRegionStatistics(EntityCacheConfig.BANK_ACCOUNTS_REGION);
+        long hitsBefore = accounts.getHitCount();
+        long missesBefore = accounts.getMissCount();
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            writers.add(pool.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    transactionService.deposit(written.getId(), new TransactionRequestDTO(BigDecimal.ONE, TransactionType.DEPOSIT, "l2 write"));
+                    assertThrows(InsufficientFundsException.class, () -> transactionService.withdraw(written.getId(),
+                            new TransactionRequestDTO(new BigDecimal("1000.00"), TransactionType.WITHDRAWAL, "l2 reject")));
+                }
+                return null;
+            }));
+        }
+        Future<?> reader = pool.submit(() -> {
+            while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+                read.forEach(this::load);
+            }
+            return null;
+        });
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        reader.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        long hits = accounts.getHitCount() - hitsBefore;
+        long misses = accounts.getMissCount() - missesBefore;
+        double hitRatio = (double) hits / (hits + misses);
+        log.info("Account region during writes: {} hits, {} misses, hit ratio {}", hits, misses, String.format("%.3f", hitRatio));
+        assertTrue(hits > 0, "no reads ran during the writes");
+        assertEquals(0, misses, "writes to one account evicted other accounts");
+        assertEquals(0, new BigDecimal("100.00").compareTo(load(written).getBalance()));
+    }
+
+    @Test
+    void testAtomicBalanceUpdatesAreRejected() {
+        EagleBankProperties properties = new EagleBankProperties();
+        properties.getLedger().setBalanceUpdateMode(EagleBankProperties.BalanceUpdateMode.ATOMIC);
+
+        assertThrows(IllegalStateException.class, () -> new EntityCacheConfig().entityCacheManager(properties));
+    }
+
+    private BankAccount load(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow();
+    }
+
+    private BankAccount createAccount(String balance) {
+        User owner = userRepository.save(User.builder().firstName("Entity").lastName("Cache")
+                .email("entity-cache@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        return bankAccountRepository.save(BankAccount.builder().accountNumber("L2-" + System.nanoTime()).user(owner)
+                .type(AccountType.CHECKING).balance(new BigDecimal(balance)).currency("GBP")
+                .status(AccountStatus.ACTIVE).build());
+    }
+}
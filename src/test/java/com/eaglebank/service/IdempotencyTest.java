@@ -0,0 +1,116 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.exceptions.ConflictException;
+import com.eaglebank.journal.TransactionJournal;
+import com.eaglebank.metrics.BankingMetrics;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class IdempotencyTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EagleBankProperties properties;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    @Autowired
+    private TransactionJournal transactionJournal;
+
+    @Test
+    void testRetriedDepositIsAppliedOnce() {
+        BankAccount account = createAccount();
+        String key = UUID.randomUUID().toString();
+
+        TransactionResponseDTO first = transactionService.deposit(account.getId(), deposit("25.00"), key);
+        TransactionResponseDTO retry = transactionService.deposit(account.getId(), deposit("25.00"), key);
+
+        assertEquals(first.getId(), retry.getId());
+        assertEquals(1, transactionRepository.findByBankAccount(account).size());
+        assertEquals(0, new BigDecimal("25.00").compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void testKeyIsRecognisedAfterTheInMemoryEntryIsGone() {
+        BankAccount account = createAccount();
+        String key = UUID.randomUUID().toString();
+        TransactionResponseDTO first = transactionService.deposit(account.getId(), deposit("25.00"), key);
+
+        // A fresh store stands in for a restart or an expired entry.
+        TransactionService restarted = new TransactionServiceImpl(transactionRepository, bankAccountRepository, ledgerEngine,
+                transactionTemplate, properties, cacheInvalidator, metrics, new IdempotencyStore(properties), transactionJournal);
+        TransactionResponseDTO retry = restarted.deposit(account.getId(), deposit("25.00"), key);
+
+        assertEquals(first.getId(), retry.getId());
+        assertEquals(1, transactionRepository.findByBankAccount(account).size());
+        assertEquals(0, new BigDecimal("25.00").compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestIsRejected() {
+        BankAccount account = createAccount();
+        String key = UUID.randomUUID().toString();
+        transactionService.deposit(account.getId(), deposit("25.00"), key);
+
+        assertThrows(ConflictException.class, () -> transactionService.deposit(account.getId(), deposit("30.00"), key));
+        assertThrows(ConflictException.class, () -> transactionService.withdraw(account.getId(),
+                new TransactionRequestDTO(new BigDecimal("25.00"), TransactionType.WITHDRAWAL, null), key));
+        assertEquals(0, new BigDecimal("25.00").compareTo(balanceOf(account)));
+    }
+
+    private TransactionRequestDTO deposit(String amount) {
+        return new TransactionRequestDTO(new BigDecimal(amount), TransactionType.DEPOSIT, "idempotent");
+    }
+
+    private BigDecimal balanceOf(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private BankAccount createAccount() {
+        User owner = userRepository.save(User.builder().firstName("Retry").lastName("Test")
+                .email("retry@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        return bankAccountRepository.save(BankAccount.builder().accountNumber("RETRY-" + System.nanoTime()).user(owner)
+                .type(AccountType.CHECKING).balance(BigDecimal.ZERO).currency("GBP")
+                .status(AccountStatus.ACTIVE).build());
+    }
+}
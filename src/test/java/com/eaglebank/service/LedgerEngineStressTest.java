@@ -0,0 +1,278 @@
+package com.eaglebank.service;
+
+import com.eaglebank.config.EagleBankProperties;
+import com.eaglebank.exceptions.InvalidAmountException;
+import com.eaglebank.exceptions.ServiceUnavailableException;
+import com.eaglebank.journal.TransactionJournal;
+import com.eaglebank.metrics.BankingMetrics;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers deposits and withdrawals from many threads and checks that no balance update is lost.
+ * The same workload is replayed with the lanes disabled and in both balance update modes to
+ * print a throughput comparison against the previous read-modify-write behaviour.
+ */
+@Slf4j
+@SpringBootTest
+public class LedgerEngineStressTest {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 100;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private BankingMetrics metrics;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private TransactionJournal transactionJournal;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Test
+    void testConcurrentDepositsOnHotAccountLoseNoUpdates() throws Exception {
+        List<BankAccount> accounts = createAccounts(1, "0.00");
+
+        Result result = run(transactionService, accounts, false);
+
+        BankAccount account = bankAccountRepository.findById(accounts.get(0).getId()).orElseThrow();
+        assertEquals(0, result.failures);
+        assertEquals(0, new BigDecimal(THREADS * OPERATIONS_PER_THREAD).compareTo(account.getBalance()));
+        log.info("Ledger lanes, 1 hot account: {} ops/s", result.opsPerSecond());
+    }
+
+    @Test
+    void testMixedDepositsAndWithdrawalsAcrossAccountsLoseNoUpdates() throws Exception {
+        List<BankAccount> accounts = createAccounts(8, "1000.00");
+
+        Result result = run(transactionService, accounts, true);
+
+        for (BankAccount created : accounts) {
+            BankAccount account = bankAccountRepository.findById(created.getId()).orElseThrow();
+            long deposits = transactionRepository.findByBankAccount(account).stream()
+                    .filter(t -> t.getType() == TransactionType.DEPOSIT).count();
+            long withdrawals = transactionRepository.findByBankAccount(account).stream()
+                    .filter(t -> t.getType() == TransactionType.WITHDRAWAL).count();
+            BigDecimal expected = new BigDecimal("1000.00").add(BigDecimal.valueOf(deposits - withdrawals));
+            assertEquals(0, expected.compareTo(account.getBalance()), "balance of account " + account.getId());
+        }
+        assertEquals(0, result.failures);
+        log.info("Ledger lanes, {} accounts: {} ops/s", accounts.size(), result.opsPerSecond());
+    }
+
+    @Test
+    void testAtomicUpdateModeLosesNoUpdatesWithoutLanes() throws Exception {
+        LedgerEngine unlanedEngine = new LedgerEngine(properties(false, EagleBankProperties.BalanceUpdateMode.ATOMIC));
+        TransactionService atomic = service(unlanedEngine, EagleBankProperties.BalanceUpdateMode.ATOMIC);
+        List<BankAccount> accounts = createAccounts(1, "0.00");
+
+        Result result = run(atomic, accounts, false);
+
+        assertEquals(0, result.failures);
+        assertEquals(0, lostUpdates(accounts));
+        unlanedEngine.destroy();
+    }
+
+    @Test
+    void testBothUpdateModesRejectAmountsFinerThanTheCurrency() {
+        BankAccount yen = createAccounts(1, "100").get(0);
+        yen.setCurrency("JPY");
+        bankAccountRepository.save(yen);
+        TransactionRequestDTO fractional = new TransactionRequestDTO(new BigDecimal("0.50"), TransactionType.DEPOSIT, "yen");
+
+        for (EagleBankProperties.BalanceUpdateMode mode : EagleBankProperties.BalanceUpdateMode.values()) {
+            TransactionService service = service(ledgerEngine, mode);
+            assertThrows(InvalidAmountException.class, () -> service.deposit(yen.getId(), fractional), mode.name());
+            assertThrows(InvalidAmountException.class, () -> service.withdraw(yen.getId(), fractional), mode.name());
+            service.deposit(yen.getId(), new TransactionRequestDTO(new BigDecimal("5.00"), TransactionType.DEPOSIT, "yen"));
+        }
+        assertEquals(0, new BigDecimal("110").compareTo(bankAccountRepository.findById(yen.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    void testFullLaneRejectsInsteadOfQueueing() throws Exception {
+        EagleBankProperties properties = properties(true, EagleBankProperties.BalanceUpdateMode.ENTITY);
+        properties.getLedger().setLanes(1);
+        properties.getLedger().setQueueCapacity(1);
+        LedgerEngine engine = new LedgerEngine(properties);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> busy = CompletableFuture.supplyAsync(() -> engine.execute(1L, () -> {
+            running.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }), callers);
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+
+        List<CompletableFuture<Object>> waiting = List.of(
+                CompletableFuture.supplyAsync(() -> engine.execute(2L, () -> "queued"), callers),
+                CompletableFuture.supplyAsync(() -> engine.execute(3L, () -> "queued"), callers));
+        CompletableFuture.anyOf(waiting.toArray(CompletableFuture[]::new)).exceptionally(e -> null).get(10, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertEquals(true, busy.get(10, TimeUnit.SECONDS));
+        List<Object> outcomes = new ArrayList<>();
+        for (CompletableFuture<Object> call : waiting) {
+            outcomes.add(call.handle((value, e) -> e != null ? e.getCause() : value).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, outcomes.stream().filter(ServiceUnavailableException.class::isInstance).count());
+        assertTrue(outcomes.contains("queued"));
+        callers.shutdown();
+        engine.destroy();
+    }
+
+    @Test
+    void testThroughputAgainstUnlaned() throws Exception {
+        LedgerEngine unlanedEngine = new LedgerEngine(properties(false, EagleBankProperties.BalanceUpdateMode.ENTITY));
+        LedgerEngine lanedEngine = new LedgerEngine(properties(true, EagleBankProperties.BalanceUpdateMode.ENTITY));
+
+        for (int accountCount : new int[] {1, 8}) {
+            for (EagleBankProperties.BalanceUpdateMode mode : EagleBankProperties.BalanceUpdateMode.values()) {
+                List<BankAccount> lanedAccounts = createAccounts(accountCount, "0.00");
+                List<BankAccount> unlanedAccounts = createAccounts(accountCount, "0.00");
+                Result laned = run(service(lanedEngine, mode), lanedAccounts, false);
+                Result direct = run(service(unlanedEngine, mode), unlanedAccounts, false);
+                log.info("{} account(s), {} mode: laned {} ops/s, {} lost updates; unlaned {} ops/s, {} lost updates, {} failures",
+                        accountCount, mode,
+                        laned.opsPerSecond(), lostUpdates(lanedAccounts),
+                        direct.opsPerSecond(), lostUpdates(unlanedAccounts), direct.failures);
+                assertEquals(0, lostUpdates(lanedAccounts));
+            }
+        }
+        lanedEngine.destroy();
+        unlanedEngine.destroy();
+    }
+
+    private EagleBankProperties properties(boolean laned, EagleBankProperties.BalanceUpdateMode mode) {
+        EagleBankProperties properties = new EagleBankProperties();
+        properties.getLedger().setEnabled(laned);
+        properties.getLedger().setBalanceUpdateMode(mode);
+        return properties;
+    }
+
+    private TransactionService service(LedgerEngine engine, EagleBankProperties.BalanceUpdateMode mode) {
+        return new TransactionServiceImpl(transactionRepository, bankAccountRepository, engine,
+                transactionTemplate, properties(true, mode), cacheInvalidator, metrics, idempotencyStore, transactionJournal);
+    }
+
+    private long lostUpdates(List<BankAccount> accounts) {
+        long expected = (long) THREADS * OPERATIONS_PER_THREAD;
+        long applied = accounts.stream()
+                .map(a -> bankAccountRepository.findById(a.getId()).orElseThrow().getBalance())
+                .mapToLong(BigDecimal::longValue)
+                .sum();
+        return expected - applied;
+    }
+
+    private Result run(TransactionService service, List<BankAccount> accounts, boolean mixed) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    Long accountId = accounts.get((thread + i) % accounts.size()).getId();
+                    TransactionRequestDTO request = new TransactionRequestDTO(BigDecimal.ONE, TransactionType.DEPOSIT, "stress");
+                    try {
+                        if (mixed && i % 3 == 0) {
+                            service.withdraw(accountId, request);
+                        } else {
+                            service.deposit(accountId, request);
+                        }
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        return new Result(THREADS * OPERATIONS_PER_THREAD, elapsed, failures.get());
+    }
+
+    private List<BankAccount> createAccounts(int count, String balance) {
+        User owner = userRepository.save(User.builder()
+                .firstName("Stress")
+                .lastName("Test")
+                .email("stress@example.com")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build());
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accounts.add(bankAccountRepository.save(BankAccount.builder()
+                    .accountNumber("STRESS-" + System.nanoTime() + "-" + i)
+                    .user(owner)
+                    .type(AccountType.CHECKING)
+                    .balance(new BigDecimal(balance))
+                    .currency("GBP")
+                    .status(AccountStatus.ACTIVE)
+                    .build()));
+        }
+        return accounts;
+    }
+
+    private record Result(int operations, long elapsedNanos, int failures) {
+        long opsPerSecond() {
+            return operations * 1_000_000_000L / Math.max(1, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransactionHistoryRequestDTO;
+import com.eaglebank.model.dto.TransactionRequestDTO;
+import com.eaglebank.model.dto.TransactionResponseDTO;
+import com.eaglebank.model.dto.UserListRequestDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uses Hibernate statistics to pin down how many SQL statements each read issues,
+ * and that none of them hydrates an entity.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ProjectionQueryStatisticsTest {
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private BankAccount account;
+    private TransactionResponseDTO deposit;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User user = userRepository.save(User.builder().firstName("John").lastName("Doe")
+                .email("john@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        account = bankAccountRepository.save(BankAccount.builder().accountNumber("STATS-" + System.nanoTime()).user(user)
+                .type(AccountType.CHECKING).balance(BigDecimal.ZERO).currency("GBP").status(AccountStatus.ACTIVE).build());
+        for (int i = 0; i < 3; i++) {
+            deposit = transactionService.deposit(account.getId(), new TransactionRequestDTO(BigDecimal.TEN, TransactionType.DEPOSIT, "Salary"));
+        }
+        statistics.clear();
+    }
+
+    @Test
+    void testGetTransactionByIdIsOneStatement() {
+        TransactionResponseDTO found = transactionService.getTransactionById(deposit.getId());
+
+        assertEquals(account.getId(), found.getBankAccountId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testTransactionHistoryPageIsTwoStatements() {
+        transactionService.getTransactionsForAccount(account.getId(), new TransactionHistoryRequestDTO());
+
+        // existence check + page query
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testBankAccountListingLoadsNoEntities() {
+        bankAccountService.getAllBankAccounts(PageRequest.of(0, 1));
+
+        // page query + count query
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testUserListingIsOneStatement() {
+        userService.getUsers(new UserListRequestDTO(null, 10));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,89 @@
+package com.eaglebank.service;
+
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.TransactionStatus;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class TransactionExportServiceTest {
+    private static final int ROWS = 2_500;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private BankAccount account;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder().firstName("John").lastName("Doe")
+                .email("john@example.com").dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+        account = bankAccountRepository.save(BankAccount.builder().accountNumber("EXPORT-" + System.nanoTime()).user(user)
+                .type(AccountType.CHECKING).balance(BigDecimal.ZERO).currency("GBP").status(AccountStatus.ACTIVE).build());
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(Transaction.builder().bankAccount(account).amount(new BigDecimal("1.50"))
+                    .type(TransactionType.DEPOSIT).status(TransactionStatus.COMPLETED)
+                    .description(i == 0 ? "Refund, \"duplicate\"" : "Deposit " + i).build());
+        }
+        transactionRepository.saveAll(rows);
+    }
+
+    @Test
+    void testNdjsonExportWritesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.exportTransactions(account.getId(), null, null, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ROWS, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].endsWith("}"));
+        assertTrue(lines[0].contains("\"bankAccountId\":" + account.getId()));
+    }
+
+    @Test
+    void testCsvExportQuotesDescriptions() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.exportTransactions(account.getId(), null, null, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ROWS + 1, lines.length);
+        assertEquals("id,timestamp,type,status,amount,description,bankAccountId", lines[0]);
+        assertTrue(lines[1].contains(",DEPOSIT,COMPLETED,1.50,\"Refund, \"\"duplicate\"\"\"," + account.getId()));
+    }
+
+    @Test
+    void testEmptyRangeWritesNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.exportTransactions(account.getId(), null, LocalDate.of(2000, 1, 1).atStartOfDay(),
+                ExportFormat.NDJSON, out);
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,134 @@
+package com.eaglebank.service;
+
+import com.eaglebank.exceptions.BadRequestException;
+import com.eaglebank.exceptions.InsufficientFundsException;
+import com.eaglebank.model.AccountStatus;
+import com.eaglebank.model.AccountType;
+import com.eaglebank.model.BankAccount;
+import com.eaglebank.model.Transaction;
+import com.eaglebank.model.TransactionType;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.TransferRequestDTO;
+import com.eaglebank.model.dto.TransferResponseDTO;
+import com.eaglebank.repository.BankAccountRepository;
+import com.eaglebank.repository.TransactionRepository;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class TransferTest {
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 50;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testTransferWritesLinkedPair() {
+        BankAccount from = createAccount("100.00", "GBP");
+        BankAccount to = createAccount("0.00", "GBP");
+
+        TransferResponseDTO response = transactionService.transfer(
+                new TransferRequestDTO(from.getId(), to.getId(), new BigDecimal("40.00"), "rent"));
+
+        Transaction debit = transactionRepository.findById(response.getDebit().getId()).orElseThrow();
+        Transaction credit = transactionRepository.findById(response.getCredit().getId()).orElseThrow();
+        assertEquals(TransactionType.TRANSFER_OUT, debit.getType());
+        assertEquals(TransactionType.TRANSFER_IN, credit.getType());
+        assertEquals(credit.getId(), debit.getLinkedTransactionId());
+        assertEquals(debit.getId(), credit.getLinkedTransactionId());
+        assertEquals(0, new BigDecimal("60.00").compareTo(balanceOf(from)));
+        assertEquals(0, new BigDecimal("40.00").compareTo(balanceOf(to)));
+    }
+
+    @Test
+    void testRejectedTransferChangesNothing() {
+        BankAccount from = createAccount("10.00", "GBP");
+        BankAccount to = createAccount("0.00", "GBP");
+        BankAccount euros = createAccount("0.00", "EUR");
+
+        assertThrows(InsufficientFundsException.class, () -> transactionService.transfer(
+                new TransferRequestDTO(from.getId(), to.getId(), new BigDecimal("10.01"), null)));
+        assertThrows(BadRequestException.class, () -> transactionService.transfer(
+                new TransferRequestDTO(from.getId(), euros.getId(), BigDecimal.ONE, null)));
+        assertThrows(BadRequestException.class, () -> transactionService.transfer(
+                new TransferRequestDTO(from.getId(), from.getId(), BigDecimal.ONE, null)));
+
+        assertEquals(0, new BigDecimal("10.00").compareTo(balanceOf(from)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(to)));
+        assertTrue(transactionRepository.findByBankAccount(from).isEmpty());
+    }
+
+    @Test
+    void testOppositeTransfersDoNotDeadlockOrLoseMoney() throws Exception {
+        BankAccount a = createAccount("1000.00", "GBP");
+        BankAccount b = createAccount("1000.00", "GBP");
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean forward = t % 2 == 0;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    transactionService.transfer(forward
+                            ? new TransferRequestDTO(a.getId(), b.getId(), BigDecimal.ONE, null)
+                            : new TransferRequestDTO(b.getId(), a.getId(), BigDecimal.ONE, null));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(0, new BigDecimal("1000.00").compareTo(balanceOf(a)));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(balanceOf(b)));
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, transactionRepository.findByBankAccount(a).size());
+    }
+
+    private BigDecimal balanceOf(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private BankAccount createAccount(String balance, String currency) {
+        User owner = userRepository.save(User.builder()
+                .firstName("Transfer")
+                .lastName("Test")
+                .email("transfer@example.com")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build());
+        return bankAccountRepository.save(BankAccount.builder()
+                .accountNumber("TRANSFER-" + System.nanoTime())
+                .user(owner)
+                .type(AccountType.CHECKING)
+                .balance(new BigDecimal(balance))
+                .currency(currency)
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+}
@@ -0,0 +1,100 @@
+package com.eaglebank.service;
+
+import com.eaglebank.exceptions.BadRequestException;
+import com.eaglebank.model.ExportFormat;
+import com.eaglebank.model.User;
+import com.eaglebank.model.dto.CursorPage;
+import com.eaglebank.model.dto.UserListRequestDTO;
+import com.eaglebank.model.dto.UserResponseDTO;
+import com.eaglebank.repository.TransactionCursor;
+import com.eaglebank.repository.UserCursor;
+import com.eaglebank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class UserListingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testWalkingPagesVisitsEveryUserOnceInIdOrder() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(userRepository.save(user("Page" + i, "1 High Street")).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<UserResponseDTO> page = userService.getUsers(new UserListRequestDTO(cursor, 3));
+            assertTrue(page.getItems().size() <= 3);
+            page.getItems().forEach(u -> seen.add(u.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1) < seen.get(i), "ids must be strictly increasing");
+        }
+        assertTrue(seen.containsAll(created));
+        assertEquals(userRepository.count(), seen.size());
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThrows(BadRequestException.class, () -> userService.getUsers(new UserListRequestDTO("abc", 10)));
+        assertThrows(BadRequestException.class, () -> userService.getUsers(new UserListRequestDTO("1234", 10)));
+        String transactionCursor = new TransactionCursor(LocalDateTime.of(2024, 7, 18, 10, 0), 1234L).encode();
+        assertThrows(BadRequestException.class, () -> userService.getUsers(new UserListRequestDTO(transactionCursor, 10)));
+    }
+
+    @Test
+    void testCursorIsOpaqueAndRoundTrips() {
+        UserCursor cursor = new UserCursor(1234L);
+        assertFalse(cursor.encode().contains("1234"));
+        assertEquals(cursor, UserCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testExportWritesEveryUser() throws Exception {
+        userRepository.save(user("Quoted", "Flat 2, \"The Mews\""));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        userExportService.exportUsers(ExportFormat.NDJSON, ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        userExportService.exportUsers(ExportFormat.CSV, csv);
+
+        long users = userRepository.count();
+        assertEquals(users, ndjson.toString(StandardCharsets.UTF_8).lines().count());
+        List<String> csvLines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(UserExportServiceImpl.CSV_HEADER.trim(), csvLines.get(0));
+        assertEquals(users + 1, csvLines.size());
+        assertTrue(csvLines.stream().anyMatch(line -> line.contains("\"Flat 2, \"\"The Mews\"\"\"")));
+    }
+
+    private User user(String firstName, String address) {
+        return User.builder()
+                .firstName(firstName)
+                .lastName("Test")
+                .email("listing@example.com")
+                .address(address)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+}